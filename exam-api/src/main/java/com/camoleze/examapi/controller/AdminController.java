@@ -0,0 +1,109 @@
+package com.camoleze.examapi.controller;
+
+import com.camoleze.examapi.service.ActiveSessionCache;
+import com.camoleze.examapi.service.AnswerKeyCache;
+import com.camoleze.examapi.service.ExamEventRouter;
+import com.camoleze.examapi.service.ExamPayloadCache;
+import com.camoleze.examapi.service.IdempotencyWindow;
+import com.camoleze.examapi.service.PostgresEventTransport;
+import com.camoleze.examapi.service.QuestionRankingPublisher;
+import com.camoleze.examapi.service.SessionLanes;
+import com.camoleze.examapi.service.SseHeartbeat;
+import com.camoleze.examapi.service.StatisticsAggregator;
+import com.camoleze.examapi.service.StatisticsPublisher;
+import com.camoleze.examapi.service.StatisticsUpdateCoalescer;
+import com.camoleze.examapi.service.StreamDeliveryManager;
+import com.camoleze.examapi.service.SubmissionWriteBehind;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class AdminController {
+
+    private final ExamEventRouter examEventRouter;
+    private final StatisticsUpdateCoalescer statisticsUpdateCoalescer;
+    private final StatisticsPublisher statisticsPublisher;
+    private final StatisticsAggregator statisticsAggregator;
+    private final QuestionRankingPublisher questionRankingPublisher;
+    private final StreamDeliveryManager streamDeliveryManager;
+    private final AnswerKeyCache answerKeyCache;
+    private final ExamPayloadCache examPayloadCache;
+    private final ActiveSessionCache activeSessionCache;
+    private final IdempotencyWindow idempotencyWindow;
+    private final SessionLanes sessionLanes;
+    private final SseHeartbeat sseHeartbeat;
+    private final ObjectProvider<PostgresEventTransport> postgresEventTransport;
+    private final ObjectProvider<SubmissionWriteBehind> submissionWriteBehind;
+
+    @GetMapping("/metrics")
+    public Mono<Map<String, Object>> getMetrics() {
+        return Mono.fromSupplier(() -> {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("events.activeSinks", examEventRouter.getActiveSinkCount());
+            metrics.put("events.subscribers", examEventRouter.getSubscriberCount());
+            metrics.put("events.replayBuffers", examEventRouter.getReplayBufferCount());
+            metrics.put("stream.dropped", streamDeliveryManager.getDroppedCount());
+            metrics.put("stream.evicted", streamDeliveryManager.getEvictedCount());
+            metrics.put("stream.disconnected", streamDeliveryManager.getDisconnectedCount());
+            metrics.put("stream.connections", sseHeartbeat.getConnectionCount());
+            metrics.put("stream.staleClosed", sseHeartbeat.getStaleClosedCount());
+            postgresEventTransport.ifAvailable(transport -> {
+                metrics.put("transport.notificationsSent", transport.getNotificationsSent());
+                metrics.put("transport.eventsReceived", transport.getEventsReceived());
+                metrics.put("transport.echoesSuppressed", transport.getEchoesSuppressed());
+                metrics.put("transport.eventsDropped", transport.getEventsDropped());
+                metrics.put("transport.eventsTruncated", transport.getEventsTruncated());
+            });
+            metrics.put("answerKeys.cached", answerKeyCache.getSize());
+            metrics.put("answerKeys.hits", answerKeyCache.getHitCount());
+            metrics.put("answerKeys.misses", answerKeyCache.getMissCount());
+            metrics.put("payloads.cached", examPayloadCache.getSize());
+            metrics.put("payloads.hits", examPayloadCache.getHitCount());
+            metrics.put("payloads.misses", examPayloadCache.getMissCount());
+            metrics.put("sessions.cached", activeSessionCache.getSize());
+            metrics.put("sessions.hits", activeSessionCache.getHitCount());
+            metrics.put("sessions.misses", activeSessionCache.getMissCount());
+            metrics.put("idempotency.keys", idempotencyWindow.getSize());
+            metrics.put("idempotency.hits", idempotencyWindow.getHitCount());
+            metrics.put("idempotency.misses", idempotencyWindow.getMissCount());
+            metrics.put("idempotency.hitRate", idempotencyWindow.getHitRate());
+            metrics.put("lanes.count", sessionLanes.getLaneCount());
+            metrics.put("lanes.queueDepths", sessionLanes.getQueueDepths());
+            metrics.put("lanes.maxQueueDepth", sessionLanes.getMaxQueueDepth());
+            metrics.put("lanes.averageWaitMillis", sessionLanes.getAverageWaitMillis());
+            metrics.put("lanes.maxWaitMillis", sessionLanes.getMaxWaitMillis());
+            metrics.put("lanes.timeouts", sessionLanes.getTimeoutCount());
+            submissionWriteBehind.ifAvailable(writeBehind -> {
+                metrics.put("submissions.pending", writeBehind.getPendingCount());
+                metrics.put("submissions.batches", writeBehind.getBatchCount());
+                metrics.put("submissions.records", writeBehind.getRecordCount());
+                metrics.put("submissions.averageBatchSize", writeBehind.getAverageBatchSize());
+                metrics.put("submissions.averageFlushMillis", writeBehind.getAverageFlushMillis());
+                metrics.put("submissions.maxFlushMillis", writeBehind.getMaxFlushMillis());
+                metrics.put("submissions.superseded", writeBehind.getSupersededCount());
+                metrics.put("submissions.rejected", writeBehind.getRejectedCount());
+                metrics.put("submissions.failed", writeBehind.getFailedCount());
+            });
+            metrics.put("statistics.coalescedExams", statisticsUpdateCoalescer.getActiveExamCount());
+            metrics.put("statistics.activePublishers", statisticsPublisher.getActivePublisherCount());
+            metrics.put("statistics.computations", statisticsPublisher.getComputationCount());
+            metrics.put("statistics.savedComputations", statisticsPublisher.getSavedComputationCount());
+            metrics.put("statistics.questionRankings", questionRankingPublisher.getActivePublisherCount());
+            metrics.put("statistics.questionRankingComputations", questionRankingPublisher.getComputationCount());
+            metrics.put("statistics.liveAggregates", statisticsAggregator.getAggregateCount());
+            metrics.put("statistics.driftCorrections", statisticsAggregator.getDriftCorrectionCount());
+            metrics.put("statistics.remoteRefreshes", statisticsAggregator.getRemoteRefreshCount());
+            return metrics;
+        });
+    }
+}
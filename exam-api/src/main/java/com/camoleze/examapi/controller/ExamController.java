@@ -2,7 +2,12 @@ package com.camoleze.examapi.controller;
 
 import com.camoleze.examapi.dto.*;
 import com.camoleze.examapi.service.ExamService;
+import com.camoleze.examapi.service.LeaderboardDiff;
+import com.camoleze.examapi.service.QuestionRankingPublisher;
+import com.camoleze.examapi.service.StatisticsPublisher;
 import com.camoleze.examapi.service.StatisticsService;
+import com.camoleze.examapi.service.StatisticsUpdateCoalescer;
+import com.camoleze.examapi.service.StreamDeliveryManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -22,6 +27,10 @@ public class ExamController {
 
     private final ExamService examService;
     private final StatisticsService statisticsService;
+    private final StatisticsUpdateCoalescer statisticsUpdateCoalescer;
+    private final StatisticsPublisher statisticsPublisher;
+    private final QuestionRankingPublisher questionRankingPublisher;
+    private final StreamDeliveryManager streamDeliveryManager;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -30,8 +39,9 @@ public class ExamController {
         return examService.createExam(request);
     }
 
-    @GetMapping("/{examId}")
-    public Mono<ExamResponse> getExam(@PathVariable("examId") Long examId, @RequestParam("userId") Long userId) {
+    // The exam is served as JSON that was encoded once per variant, see ExamPayloadCache.
+    @GetMapping(value = "/{examId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<byte[]> getExam(@PathVariable("examId") Long examId, @RequestParam("userId") Long userId) {
         log.info("Getting exam {} for user {}", examId, userId);
         return examService.getExam(examId, userId);
     }
@@ -68,9 +78,22 @@ public class ExamController {
     }
 
     @PostMapping("/answer")
-    public Mono<Void> submitAnswer(@Valid @RequestBody AnswerSubmissionRequest request) {
+    public Mono<Void> submitAnswer(
+            @Valid @RequestBody AnswerSubmissionRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
         log.info("Submitting answer for session {} question {}", request.getSessionId(), request.getQuestionId());
-        return examService.submitAnswer(request);
+        return examService.submitAnswer(request, idempotencyKey);
+    }
+
+    @PostMapping("/sessions/{sessionId}/answers")
+    public Mono<Void> submitAnswers(
+            @PathVariable("sessionId") Long sessionId,
+            @Valid @RequestBody BulkAnswerSubmissionRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        log.info("Submitting {} answers for session {}", request.getAnswers().size(), sessionId);
+        return examService.submitAnswers(sessionId, request, idempotencyKey);
     }
 
     @PutMapping("/sessions/{sessionId}/complete")
@@ -83,25 +106,29 @@ public class ExamController {
     public Flux<StatisticsResponse> getExamStatistics(@PathVariable("examId") Long examId) {
         log.info("Starting SSE stream for exam statistics {}", examId);
 
-        return Flux.merge(
-                statisticsService.getStatistics(examId),
-                examService.getExamEventStream(examId)
-                        .filter(event -> event.getType() == ExamEvent.ExamEventType.STATISTICS_UPDATED)
-                        .flatMap(event -> statisticsService.getStatistics(examId))
-        );
+        return streamDeliveryManager.statistics(statisticsPublisher.getStatistics(examId));
+    }
+
+    @GetMapping(value = "/{examId}/statistics/score-distribution", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ScoreDistribution> getScoreDistribution(@PathVariable("examId") Long examId) {
+        return streamDeliveryManager.statistics(statisticsUpdateCoalescer.updates(examId)
+                .map(ExamEvent::getType)
+                .startWith(ExamEvent.ExamEventType.STATISTICS_UPDATED)
+                .concatMap(trigger -> statisticsService.getScoreDistribution(examId))
+                .distinctUntilChanged());
     }
 
+    // The delivery policy applies to whole ranking snapshots; they are flattened one at a time afterwards,
+    // so a slow client skips snapshots instead of losing rows from one.
     @GetMapping(value = "/{examId}/statistics/difficult-questions", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public Flux<QuestionStatistics> getMostDifficultQuestions(
             @PathVariable("examId") Long examId,
             @RequestParam(defaultValue = "5", name = "limit") Integer limit
     ) {
-        return Flux.merge(
-                statisticsService.getMostDifficultQuestions(examId, limit),
-                examService.getExamEventStream(examId)
-                        .filter(event -> event.getType() == ExamEvent.ExamEventType.STATISTICS_UPDATED)
-                        .flatMap(event -> statisticsService.getMostDifficultQuestions(examId, limit))
-        );
+        return streamDeliveryManager.rankings(questionRankingPublisher.getRanking(examId, limit)
+                        .map(QuestionRanking::getMostDifficult)
+                        .distinctUntilChanged())
+                .flatMapIterable(questions -> questions, 1);
     }
 
     @GetMapping(value = "/{examId}/statistics/correct-questions", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
@@ -109,12 +136,10 @@ public class ExamController {
             @PathVariable("examId") Long examId,
             @RequestParam(defaultValue = "5", name = "limit") Integer limit
     ) {
-        return Flux.merge(
-                statisticsService.getMostCorrectQuestions(examId, limit),
-                examService.getExamEventStream(examId)
-                        .filter(event -> event.getType() == ExamEvent.ExamEventType.STATISTICS_UPDATED)
-                        .flatMap(event -> statisticsService.getMostCorrectQuestions(examId, limit))
-        );
+        return streamDeliveryManager.rankings(questionRankingPublisher.getRanking(examId, limit)
+                        .map(QuestionRanking::getMostCorrect)
+                        .distinctUntilChanged())
+                .flatMapIterable(questions -> questions, 1);
     }
 
     @GetMapping(value = "/{examId}/statistics/top-performers", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
@@ -122,12 +147,22 @@ public class ExamController {
             @PathVariable("examId") Long examId,
             @RequestParam(defaultValue = "10", name = "limit") Integer limit
     ) {
-        return Flux.merge(
-                statisticsService.getTopPerformers(examId, limit),
-                examService.getExamEventStream(examId)
-                        .filter(event -> event.getType() == ExamEvent.ExamEventType.STATISTICS_UPDATED)
-                        .flatMap(event -> statisticsService.getTopPerformers(examId, limit))
-        );
+        // Only users whose rank or figures changed since the last snapshot this client received are sent.
+        return Flux.defer(() -> {
+            LeaderboardDiff diff = new LeaderboardDiff();
+            return streamDeliveryManager.rankings(statisticsUpdateCoalescer.updates(examId)
+                            .map(ExamEvent::getType)
+                            .startWith(ExamEvent.ExamEventType.STATISTICS_UPDATED)
+                            .concatMap(trigger -> statisticsService.getTopPerformers(examId, limit).collectList())
+                            .distinctUntilChanged())
+                    .flatMapIterable(diff::changes, 1);
+        });
+    }
+
+    @GetMapping("/{examId}/statistics/users/{userId}/rank")
+    public Mono<Integer> getUserRank(@PathVariable("examId") Long examId, @PathVariable("userId") Long userId) {
+        log.info("Getting rank of user {} in exam {}", userId, examId);
+        return statisticsService.getUserRank(examId, userId);
     }
 
     @GetMapping("/sessions/{sessionId}/progress")
@@ -142,6 +177,12 @@ public class ExamController {
         return examService.getSessionsByExam(examId);
     }
 
+    @PostMapping("/{examId}/sessions/recompute-scores")
+    public Flux<ExamSessionResponse> recomputeSessionScores(@PathVariable("examId") Long examId) {
+        log.info("Recomputing session scores for exam {}", examId);
+        return examService.recomputeSessionScores(examId);
+    }
+
     @GetMapping("/sessions/{sessionId}/responses")
     public Flux<UserResponseDTO> getUserResponsesBySession(@PathVariable("sessionId") Long sessionId) {
         log.info("Getting user responses for session {}", sessionId);
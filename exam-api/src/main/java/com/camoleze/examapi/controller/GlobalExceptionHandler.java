@@ -1,5 +1,6 @@
 package com.camoleze.examapi.controller;
 
+import com.camoleze.examapi.service.SubmissionBufferFullException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +16,18 @@ import java.util.Map;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    @ExceptionHandler(SubmissionBufferFullException.class)
+    public Mono<ResponseEntity<Map<String, String>>> handleSubmissionBufferFull(SubmissionBufferFullException ex) {
+        log.warn("Submission rejected: {}", ex.getMessage());
+        Map<String, String> error = new HashMap<>();
+        error.put("error", ex.getMessage());
+        error.put("timestamp", java.time.Instant.now().toString());
+
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(error));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public Mono<ResponseEntity<Map<String, String>>> handleRuntimeException(RuntimeException ex) {
         log.error("Runtime exception: ", ex);
@@ -1,15 +1,17 @@
 package com.camoleze.examapi.controller;
 
 import com.camoleze.examapi.dto.ExamEvent;
+import com.camoleze.examapi.service.ExamEventRouter;
 import com.camoleze.examapi.service.ExamService;
+import com.camoleze.examapi.service.SseHeartbeat;
+import com.camoleze.examapi.service.StreamDeliveryManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 
-import java.time.Duration;
-
 @RestController
 @RequestMapping("/api/stream")
 @RequiredArgsConstructor
@@ -18,12 +20,18 @@ import java.time.Duration;
 public class StreamController {
     
     private final ExamService examService;
+    private final StreamDeliveryManager streamDeliveryManager;
+    private final SseHeartbeat sseHeartbeat;
     
     @GetMapping(value = "/exams/{examId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<ExamEvent> streamExamEvents(@PathVariable("examId") Long examId, @RequestParam("userId") Long userId) {
-        log.info("User {} connecting to exam {} stream", userId, examId);
+    public Flux<ServerSentEvent<ExamEvent>> streamExamEvents(
+            @PathVariable("examId") Long examId,
+            @RequestParam("userId") Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        log.info("User {} connecting to exam {} stream (last event {})", userId, examId, lastEventId);
         
-        return examService.getExamEventStream(examId)
+        return sseHeartbeat.withHeartbeat(streamDeliveryManager.activity(examService.getExamEventStream(examId, lastEventId))
                 .doOnSubscribe(subscription -> 
                     log.info("User {} subscribed to exam {} stream", userId, examId))
                 .doOnCancel(() -> 
@@ -34,19 +42,14 @@ public class StreamController {
                     log.error("Stream error for exam {} user {}: {}", examId, userId, error.getMessage());
                     return Flux.empty();
                 })
-                .mergeWith(Flux.interval(Duration.ofSeconds(30))
-                        .map(tick -> ExamEvent.builder()
-                                .type(ExamEvent.ExamEventType.TIME_WARNING)
-                                .examId(examId)
-                                .data("keep-alive")
-                                .build()));
+                .map(this::toServerSentEvent));
     }
     
     @GetMapping(value = "/exams", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<ExamEvent> streamAllExamEvents(@RequestParam("userId") Long userId) {
+    public Flux<ServerSentEvent<ExamEvent>> streamAllExamEvents(@RequestParam("userId") Long userId) {
         log.info("User {} connecting to global exam stream", userId);
         
-        return examService.getExamEventStream()
+        return sseHeartbeat.withHeartbeat(streamDeliveryManager.activity(examService.getExamEventStream())
                 .doOnSubscribe(subscription -> 
                     log.info("User {} subscribed to global exam stream", userId))
                 .doOnCancel(() -> 
@@ -54,6 +57,16 @@ public class StreamController {
                 .onErrorResume(error -> {
                     log.error("Global stream error for user {}: {}", userId, error.getMessage());
                     return Flux.empty();
-                });
+                })
+                .map(this::toServerSentEvent));
+    }
+
+    private ServerSentEvent<ExamEvent> toServerSentEvent(ExamEvent event) {
+        ServerSentEvent.Builder<ExamEvent> builder = ServerSentEvent.builder(event);
+        String id = ExamEventRouter.eventId(event);
+        if (id != null) {
+            builder.id(id);
+        }
+        return builder.build();
     }
-}
+}
\ No newline at end of file
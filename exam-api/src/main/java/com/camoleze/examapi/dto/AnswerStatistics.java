@@ -0,0 +1,14 @@
+package com.camoleze.examapi.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AnswerStatistics {
+    private Long answerId;
+    private String answerText;
+    private Boolean isCorrect;
+    private Integer pickCount;
+    private Double pickPercentage;
+}
@@ -0,0 +1,13 @@
+package com.camoleze.examapi.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class BulkAnswerItem {
+    @NotNull(message = "Question ID is required")
+    private Long questionId;
+
+    private Long answerId; // for multiple choice
+    private String responseText; // for short answer
+}
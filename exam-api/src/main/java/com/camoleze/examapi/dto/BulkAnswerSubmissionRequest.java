@@ -0,0 +1,13 @@
+package com.camoleze.examapi.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkAnswerSubmissionRequest {
+    @NotEmpty(message = "Answers are required")
+    private List<@Valid BulkAnswerItem> answers;
+}
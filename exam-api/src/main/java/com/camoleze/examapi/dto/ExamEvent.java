@@ -13,6 +13,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ExamEvent {
+    private Long epoch;
+    private Long sequence;
     private ExamEventType type;
     private Long examId;
     private Long userId;
@@ -25,9 +27,11 @@ public class ExamEvent {
         USER_JOINED,
         USER_LEFT,
         ANSWER_SUBMITTED,
+        ANSWERS_SUBMITTED,
         EXAM_COMPLETED,
         TIME_WARNING,
         EXAM_ENDED,
-        STATISTICS_UPDATED
+        STATISTICS_UPDATED,
+        RESYNC_REQUIRED
     }
 }
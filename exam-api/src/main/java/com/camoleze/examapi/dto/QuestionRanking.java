@@ -0,0 +1,13 @@
+package com.camoleze.examapi.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class QuestionRanking {
+    private List<QuestionStatistics> mostDifficult;
+    private List<QuestionStatistics> mostCorrect;
+}
@@ -4,6 +4,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
+import java.util.List;
+
 @Data
 @Builder
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
@@ -28,4 +30,7 @@ public class QuestionStatistics {
 
     @EqualsAndHashCode.Include
     private Boolean isMostCorrect;
+
+    @EqualsAndHashCode.Include
+    private List<AnswerStatistics> answerDistribution;
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.camoleze.examapi.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ScoreBucket {
+    private Double lowerBound;
+    private Double upperBound;
+    private Integer count;
+}
@@ -0,0 +1,17 @@
+package com.camoleze.examapi.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ScoreDistribution {
+    private Long examId;
+    private Integer totalSessions;
+    private List<ScoreBucket> buckets;
+    private Double median;
+    private Double p75;
+    private Double p90;
+}
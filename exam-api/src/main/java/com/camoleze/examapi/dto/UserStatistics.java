@@ -8,7 +8,7 @@ import lombok.EqualsAndHashCode;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class UserStatistics {
     @EqualsAndHashCode.Include
@@ -43,4 +43,9 @@ public class UserStatistics {
 
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime lastActivity;
+
+    // Set on top-performer stream entries only; rank is null once the user left the top N.
+    private Integer rank;
+
+    private Integer previousRank;
 }
\ No newline at end of file
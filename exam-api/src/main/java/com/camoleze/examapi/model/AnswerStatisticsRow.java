@@ -0,0 +1,18 @@
+package com.camoleze.examapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnswerStatisticsRow {
+    private Long answerId;
+    private Long questionId;
+    private String answerText;
+    private Boolean isCorrect;
+    private Long pickCount;
+}
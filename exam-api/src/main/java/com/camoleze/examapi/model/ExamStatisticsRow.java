@@ -0,0 +1,28 @@
+package com.camoleze.examapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamStatisticsRow {
+    private Long examId;
+    private String examTitle;
+    private Long totalQuestions;
+    private Long totalParticipants;
+    private Long completedParticipants;
+    private Double completionRate;
+    private Double averageScore;
+
+    // Weighted sums over the exam's responses and sessions, used to detect drift in the live aggregate.
+    private Long scoreChecksum;
+    private Long responseCount;
+    private Long correctCount;
+    private Long questionChecksum;
+    private Long answerChecksum;
+    private Long sessionChecksum;
+}
@@ -0,0 +1,22 @@
+package com.camoleze.examapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExamTreeRow {
+    private Long questionId;
+    private String questionText;
+    private String type;
+    private Integer questionOrderIndex;
+    private Integer points;
+    private Long answerId;
+    private String answerText;
+    private Boolean isCorrect;
+    private Integer answerOrderIndex;
+}
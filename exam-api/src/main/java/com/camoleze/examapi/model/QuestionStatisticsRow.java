@@ -0,0 +1,18 @@
+package com.camoleze.examapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionStatisticsRow {
+    private Long questionId;
+    private String questionText;
+    private Integer orderIndex;
+    private Long totalResponses;
+    private Long correctResponses;
+}
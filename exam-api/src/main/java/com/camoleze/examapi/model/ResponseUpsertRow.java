@@ -0,0 +1,26 @@
+package com.camoleze.examapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResponseUpsertRow {
+    private Long responseId;
+    private Long sessionId;
+    private Long questionId;
+    private LocalDateTime respondedAt;
+    private Boolean isCorrect;
+    private Integer pointsEarned;
+    private Boolean existed;
+    private Long previousAnswerId;
+    private Boolean wasCorrect;
+    private Integer previousPoints;
+    private Integer totalScore;
+}
@@ -0,0 +1,26 @@
+package com.camoleze.examapi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionStatisticsRow {
+    private Long sessionId;
+    private Long userId;
+    private String username;
+    private String fullName;
+    private ExamSession.SessionStatus status;
+    private Integer totalScore;
+    private Integer maxScore;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private Long questionsAnswered;
+    private Long correctAnswers;
+}
@@ -1,6 +1,8 @@
 package com.camoleze.examapi.repository;
 
 import com.camoleze.examapi.model.Answer;
+import com.camoleze.examapi.model.AnswerStatisticsRow;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -9,4 +11,27 @@ import reactor.core.publisher.Flux;
 public interface AnswerRepository extends R2dbcRepository<Answer, Long> {
     Flux<Answer> findByQuestionIdOrderByOrderIndex(Long questionId);
     Flux<Answer> findByQuestionIdAndIsCorrect(Long questionId, Boolean isCorrect);
+
+    @Query("""
+        SELECT a.* FROM answers a
+        JOIN questions q ON q.id = a.question_id
+        WHERE q.exam_id = :examId
+        """)
+    Flux<Answer> findByExamId(Long examId);
+
+    @Query("""
+        SELECT a.id AS answer_id,
+               a.question_id,
+               a.answer_text,
+               a.is_correct,
+               COUNT(ur.id) AS pick_count
+        FROM answers a
+        JOIN questions q ON q.id = a.question_id
+        LEFT JOIN user_responses ur ON ur.answer_id = a.id
+        WHERE q.exam_id = :examId
+          AND q.type IN ('MULTIPLE_CHOICE', 'TRUE_FALSE')
+        GROUP BY a.id, a.question_id, a.answer_text, a.is_correct, a.order_index
+        ORDER BY a.question_id, a.order_index
+        """)
+    Flux<AnswerStatisticsRow> findStatisticsByExamId(Long examId);
 }
\ No newline at end of file
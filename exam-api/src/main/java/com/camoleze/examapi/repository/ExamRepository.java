@@ -1,6 +1,7 @@
 package com.camoleze.examapi.repository;
 
 import com.camoleze.examapi.model.Exam;
+import com.camoleze.examapi.model.ExamStatisticsRow;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
@@ -15,4 +16,41 @@ public interface ExamRepository extends R2dbcRepository<Exam, Long> {
     
     @Query("SELECT * FROM exams WHERE status = 'ACTIVE'")
     Flux<Exam> findActiveExams();
+
+    @Query("""
+        SELECT e.id AS exam_id,
+               e.title AS exam_title,
+               (SELECT COUNT(*) FROM questions q WHERE q.exam_id = e.id) AS total_questions,
+               COUNT(es.id) AS total_participants,
+               COUNT(es.id) FILTER (WHERE es.status = 'COMPLETED') AS completed_participants,
+               CASE WHEN COUNT(es.id) > 0
+                    THEN (COUNT(es.id) FILTER (WHERE es.status = 'COMPLETED') * 100.0 / COUNT(es.id))::float8
+                    ELSE 0
+               END AS completion_rate,
+               COALESCE(AVG(CASE WHEN es.max_score > 0 THEN es.total_score * 100.0 / es.max_score ELSE 0 END)
+                        FILTER (WHERE es.status = 'COMPLETED'), 0)::float8 AS average_score,
+               COALESCE(SUM(es.total_score), 0)::bigint AS score_checksum,
+               r.response_count,
+               r.correct_count,
+               r.question_checksum,
+               r.answer_checksum,
+               r.session_checksum
+        FROM exams e
+        LEFT JOIN exam_sessions es ON es.exam_id = e.id
+        CROSS JOIN LATERAL (
+            SELECT COUNT(ur.id) AS response_count,
+                   COUNT(ur.id) FILTER (WHERE ur.is_correct) AS correct_count,
+                   COALESCE(SUM(ur.question_id * CASE WHEN ur.is_correct THEN 2 ELSE 1 END), 0)::bigint
+                       AS question_checksum,
+                   COALESCE(SUM(ur.answer_id), 0)::bigint AS answer_checksum,
+                   COALESCE(SUM(ur.session_id), 0)::bigint AS session_checksum
+            FROM user_responses ur
+            JOIN exam_sessions s ON s.id = ur.session_id
+            WHERE s.exam_id = e.id
+        ) r
+        WHERE e.id = :examId
+        GROUP BY e.id, e.title, r.response_count, r.correct_count, r.question_checksum, r.answer_checksum,
+                 r.session_checksum
+        """)
+    Mono<ExamStatisticsRow> findStatisticsById(Long examId);
 }
\ No newline at end of file
@@ -1,12 +1,14 @@
 package com.camoleze.examapi.repository;
 
 import com.camoleze.examapi.model.ExamSession;
+import com.camoleze.examapi.model.SessionStatisticsRow;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,6 +17,49 @@ public interface ExamSessionRepository extends R2dbcRepository<ExamSession, Long
     Flux<ExamSession> findByExamIdAndUserIdOrderByCreatedAtDesc(Long examId, Long userId);
     Flux<ExamSession> findByExamId(Long examId);
     Flux<ExamSession> findByUserId(Long userId);
+
+    @Query("""
+        UPDATE exam_sessions
+        SET total_score = total_score + :delta, updated_at = CURRENT_TIMESTAMP
+        WHERE id = :sessionId
+        RETURNING total_score
+        """)
+    Mono<Integer> addToTotalScore(Long sessionId, Integer delta);
+
+    // Taken in its own statement before a response upsert, so the upsert's snapshot already sees
+    // every response committed by the session's previous lock holder.
+    @Query("SELECT id FROM exam_sessions WHERE id IN (:sessionIds) ORDER BY id FOR UPDATE")
+    Flux<Long> lockByIds(Collection<Long> sessionIds);
+
+    @Query("SELECT id FROM exam_sessions WHERE exam_id = :examId ORDER BY id FOR UPDATE")
+    Flux<Long> lockByExamId(Long examId);
+
+    @Query("""
+        UPDATE exam_sessions es
+        SET status = 'COMPLETED',
+            completed_at = CURRENT_TIMESTAMP,
+            updated_at = CURRENT_TIMESTAMP,
+            total_score = COALESCE((SELECT SUM(ur.points_earned)
+                                    FROM user_responses ur
+                                    WHERE ur.session_id = es.id), 0)
+        WHERE es.id = :sessionId
+        RETURNING es.*
+        """)
+    Mono<ExamSession> completeWithRecomputedScore(Long sessionId);
+
+    @Query("""
+        UPDATE exam_sessions es
+        SET total_score = totals.score, updated_at = CURRENT_TIMESTAMP
+        FROM (SELECT s.id AS session_id, COALESCE(SUM(ur.points_earned), 0) AS score
+              FROM exam_sessions s
+              LEFT JOIN user_responses ur ON ur.session_id = s.id
+              WHERE s.exam_id = :examId
+              GROUP BY s.id) totals
+        WHERE es.id = totals.session_id
+          AND es.total_score IS DISTINCT FROM totals.score
+        RETURNING es.*
+        """)
+    Flux<ExamSession> recomputeScoresByExamId(Long examId);
     
     @Query("SELECT COUNT(*) FROM exam_sessions WHERE exam_id = :examId")
     Mono<Long> countParticipantsByExamId(Long examId);
@@ -29,4 +74,25 @@ public interface ExamSessionRepository extends R2dbcRepository<ExamSession, Long
         WHERE es.exam_id = :examId
         """)
     Flux<ExamSession> findByExamIdWithUserInfo(Long examId);
+
+    @Query("""
+        SELECT es.id AS session_id,
+               es.user_id,
+               u.username,
+               u.full_name,
+               es.status,
+               es.total_score,
+               es.max_score,
+               es.started_at,
+               es.updated_at,
+               COUNT(ur.id) AS questions_answered,
+               COUNT(ur.id) FILTER (WHERE ur.is_correct) AS correct_answers
+        FROM exam_sessions es
+        LEFT JOIN users u ON u.id = es.user_id
+        LEFT JOIN user_responses ur ON ur.session_id = es.id
+        WHERE es.exam_id = :examId
+        GROUP BY es.id, u.id
+        ORDER BY es.id
+        """)
+    Flux<SessionStatisticsRow> findStatisticsByExamId(Long examId);
 }
\ No newline at end of file
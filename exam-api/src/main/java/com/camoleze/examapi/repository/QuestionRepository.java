@@ -1,6 +1,9 @@
 package com.camoleze.examapi.repository;
 
+import com.camoleze.examapi.model.ExamTreeRow;
 import com.camoleze.examapi.model.Question;
+import com.camoleze.examapi.model.QuestionStatisticsRow;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -10,4 +13,35 @@ import reactor.core.publisher.Mono;
 public interface QuestionRepository extends R2dbcRepository<Question, Long> {
     Flux<Question> findByExamIdOrderByOrderIndex(Long examId);
     Mono<Long> countByExamId(Long examId);
+
+    @Query("""
+        SELECT q.id AS question_id,
+               q.question_text,
+               q.type,
+               q.order_index AS question_order_index,
+               q.points,
+               a.id AS answer_id,
+               a.answer_text,
+               a.is_correct,
+               a.order_index AS answer_order_index
+        FROM questions q
+        LEFT JOIN answers a ON a.question_id = q.id
+        WHERE q.exam_id = :examId
+        ORDER BY q.order_index, q.id, a.order_index, a.id
+        """)
+    Flux<ExamTreeRow> findTreeByExamId(Long examId);
+
+    @Query("""
+        SELECT q.id AS question_id,
+               q.question_text,
+               q.order_index,
+               COUNT(ur.id) AS total_responses,
+               COUNT(ur.id) FILTER (WHERE ur.is_correct) AS correct_responses
+        FROM questions q
+        LEFT JOIN user_responses ur ON ur.question_id = q.id
+        WHERE q.exam_id = :examId
+        GROUP BY q.id, q.question_text, q.order_index
+        ORDER BY q.order_index
+        """)
+    Flux<QuestionStatisticsRow> findStatisticsByExamId(Long examId);
 }
\ No newline at end of file
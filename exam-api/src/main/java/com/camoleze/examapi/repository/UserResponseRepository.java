@@ -1,5 +1,6 @@
 package com.camoleze.examapi.repository;
 
+import com.camoleze.examapi.model.ResponseUpsertRow;
 import com.camoleze.examapi.model.UserResponse;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -12,6 +13,52 @@ public interface UserResponseRepository extends R2dbcRepository<UserResponse, Lo
     Flux<UserResponse> findBySessionId(Long sessionId);
     Mono<UserResponse> findBySessionIdAndQuestionId(Long sessionId, Long questionId);
     Flux<UserResponse> findByQuestionId(Long questionId);
+
+    // Saves the response and moves the session score by the points difference in one statement.
+    // All CTEs share one snapshot, so callers must hold the session row lock (ExamSessionRepository.lockByIds)
+    // from an earlier statement of the same transaction; ResponseBatchWriter does that.
+    @Query("""
+        WITH previous AS (
+            SELECT session_id, answer_id, is_correct, points_earned
+            FROM user_responses
+            WHERE session_id = :sessionId AND question_id = :questionId
+            FOR UPDATE
+        ),
+        upserted AS (
+            INSERT INTO user_responses (session_id, question_id, answer_id, response_text, is_correct, points_earned)
+            VALUES (:sessionId, :questionId, :answerId, :responseText, :isCorrect, :pointsEarned)
+            ON CONFLICT (session_id, question_id) DO UPDATE
+                SET answer_id = EXCLUDED.answer_id,
+                    response_text = EXCLUDED.response_text,
+                    is_correct = EXCLUDED.is_correct,
+                    points_earned = EXCLUDED.points_earned
+            RETURNING id, session_id, question_id, responded_at, is_correct, points_earned
+        ),
+        scored AS (
+            UPDATE exam_sessions
+            SET total_score = total_score + (SELECT points_earned FROM upserted)
+                    - COALESCE((SELECT points_earned FROM previous), 0),
+                updated_at = CURRENT_TIMESTAMP
+            WHERE id = :sessionId
+            RETURNING total_score
+        )
+        SELECT u.id AS response_id,
+               u.session_id,
+               u.question_id,
+               u.responded_at,
+               u.is_correct,
+               u.points_earned,
+               p.session_id IS NOT NULL AS existed,
+               p.answer_id AS previous_answer_id,
+               COALESCE(p.is_correct, FALSE) AS was_correct,
+               COALESCE(p.points_earned, 0) AS previous_points,
+               s.total_score
+        FROM upserted u
+        CROSS JOIN scored s
+        LEFT JOIN previous p ON TRUE
+        """)
+    Mono<ResponseUpsertRow> upsertAndScore(Long sessionId, Long questionId, Long answerId, String responseText,
+                                           Boolean isCorrect, Integer pointsEarned);
     
     @Query("SELECT COUNT(*) FROM user_responses WHERE session_id = :sessionId")
     Mono<Long> countResponsesBySessionId(Long sessionId);
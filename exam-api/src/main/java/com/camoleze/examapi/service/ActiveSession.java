@@ -0,0 +1,67 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.model.ExamSession;
+
+/**
+ * Hot-path view of an in-progress session. Score and the answered count are updated in place by
+ * the submission path; the session leaves the cache when it completes.
+ */
+public class ActiveSession {
+
+    private final long id;
+    private final long examId;
+    private final long userId;
+    private final int maxScore;
+    private final ExamSession.SessionStatus status;
+    private int totalScore;
+    private int answered;
+
+    public ActiveSession(ExamSession session, int answered) {
+        this.id = session.getId();
+        this.examId = session.getExamId();
+        this.userId = session.getUserId();
+        this.maxScore = session.getMaxScore() != null ? session.getMaxScore() : 0;
+        this.status = session.getStatus();
+        this.totalScore = session.getTotalScore() != null ? session.getTotalScore() : 0;
+        this.answered = answered;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getExamId() {
+        return examId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public int getMaxScore() {
+        return maxScore;
+    }
+
+    public ExamSession.SessionStatus getStatus() {
+        return status;
+    }
+
+    public synchronized int getTotalScore() {
+        return totalScore;
+    }
+
+    public synchronized int getAnswered() {
+        return answered;
+    }
+
+    public synchronized void recordResponse(boolean existed, int totalScore) {
+        this.totalScore = totalScore;
+        if (!existed) {
+            answered++;
+        }
+    }
+
+    public synchronized void setTotalScore(int totalScore) {
+        this.totalScore = totalScore;
+    }
+}
@@ -0,0 +1,100 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.model.ExamSession;
+import com.camoleze.examapi.repository.ExamSessionRepository;
+import com.camoleze.examapi.repository.UserResponseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveSessionCache {
+
+    private final ExamSessionRepository examSessionRepository;
+    private final UserResponseRepository userResponseRepository;
+
+    private final Map<Long, Mono<ActiveSession>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Value("${exam.sessions.cache-max-sessions:10000}")
+    private int maxSessions;
+
+    private final Map<Long, ActiveSession> sessions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ActiveSession> eldest) {
+            return size() > maxSessions;
+        }
+    };
+
+    public Mono<ActiveSession> getSession(Long sessionId) {
+        ActiveSession session = cached(sessionId);
+        if (session != null) {
+            hits.incrementAndGet();
+            return Mono.just(session);
+        }
+
+        misses.incrementAndGet();
+        return loading.computeIfAbsent(sessionId, id -> examSessionRepository.findById(id)
+                .flatMap(found -> userResponseRepository.countResponsesBySessionId(id)
+                        .map(answered -> new ActiveSession(found, answered.intValue())))
+                .doOnNext(this::store)
+                .doFinally(signal -> loading.remove(id))
+                .cache());
+    }
+
+    public void put(ExamSession session) {
+        store(new ActiveSession(session, 0));
+    }
+
+    public void updateScore(Long sessionId, int totalScore) {
+        ActiveSession session = cached(sessionId);
+        if (session != null) {
+            session.setTotalScore(totalScore);
+        }
+    }
+
+    public void invalidate(Long sessionId) {
+        synchronized (sessions) {
+            sessions.remove(sessionId);
+        }
+    }
+
+    public int getSize() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private ActiveSession cached(Long sessionId) {
+        synchronized (sessions) {
+            return sessions.get(sessionId);
+        }
+    }
+
+    // Only sessions that can still receive answers are kept.
+    private void store(ActiveSession session) {
+        if (session.getStatus() != null && session.getStatus().allowContinue()) {
+            synchronized (sessions) {
+                sessions.put(session.getId(), session);
+            }
+        }
+    }
+}
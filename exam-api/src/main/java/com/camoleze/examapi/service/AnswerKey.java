@@ -0,0 +1,103 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.model.Answer;
+import com.camoleze.examapi.model.Question;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable grading snapshot of an exam: question types and points and, for choice questions,
+ * which answers belong to the question and which of them are correct. Ids are kept in sorted
+ * primitive arrays and looked up by binary search.
+ */
+public class AnswerKey {
+
+    private final long examId;
+    private final boolean active;
+    private final long[] questionIds;
+    private final QuestionKey[] questions;
+
+    public AnswerKey(long examId, boolean active, List<Question> questions, List<Answer> answers) {
+        Map<Long, List<Answer>> answersByQuestion = answers.stream()
+                .collect(Collectors.groupingBy(Answer::getQuestionId));
+        List<Question> sorted = questions.stream()
+                .sorted(Comparator.comparing(Question::getId))
+                .toList();
+
+        this.examId = examId;
+        this.active = active;
+        this.questionIds = new long[sorted.size()];
+        this.questions = new QuestionKey[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            Question question = sorted.get(i);
+            questionIds[i] = question.getId();
+            this.questions[i] = new QuestionKey(question, answersByQuestion.getOrDefault(question.getId(), List.of()));
+        }
+    }
+
+    public long getExamId() {
+        return examId;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public int getQuestionCount() {
+        return questions.length;
+    }
+
+    public QuestionKey question(long questionId) {
+        int index = Arrays.binarySearch(questionIds, questionId);
+        return index >= 0 ? questions[index] : null;
+    }
+
+    public static final class QuestionKey {
+        private final long id;
+        private final Question.QuestionType type;
+        private final int points;
+        private final long[] answerIds;
+        private final boolean[] correct;
+
+        private QuestionKey(Question question, List<Answer> answers) {
+            List<Answer> sorted = answers.stream()
+                    .sorted(Comparator.comparing(Answer::getId))
+                    .toList();
+
+            this.id = question.getId();
+            this.type = question.getType();
+            this.points = question.getPoints() != null ? question.getPoints() : 0;
+            this.answerIds = new long[sorted.size()];
+            this.correct = new boolean[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                answerIds[i] = sorted.get(i).getId();
+                correct[i] = Boolean.TRUE.equals(sorted.get(i).getIsCorrect());
+            }
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public Question.QuestionType getType() {
+            return type;
+        }
+
+        public int getPoints() {
+            return points;
+        }
+
+        public boolean hasAnswer(long answerId) {
+            return Arrays.binarySearch(answerIds, answerId) >= 0;
+        }
+
+        public boolean isCorrect(long answerId) {
+            int index = Arrays.binarySearch(answerIds, answerId);
+            return index >= 0 && correct[index];
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.model.Exam;
+import com.camoleze.examapi.repository.AnswerRepository;
+import com.camoleze.examapi.repository.ExamRepository;
+import com.camoleze.examapi.repository.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AnswerKeyCache {
+
+    private final ExamRepository examRepository;
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+
+    private final Map<Long, Mono<AnswerKey>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Value("${exam.answer-keys.max-exams:500}")
+    private int maxExams;
+
+    private final Map<Long, AnswerKey> keys = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, AnswerKey> eldest) {
+            if (size() > maxExams) {
+                log.debug("Evicting answer key of exam {}", eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public Mono<AnswerKey> getAnswerKey(Long examId) {
+        AnswerKey key;
+        synchronized (keys) {
+            key = keys.get(examId);
+        }
+        if (key != null) {
+            hits.incrementAndGet();
+            return Mono.just(key);
+        }
+
+        misses.incrementAndGet();
+        return loading.computeIfAbsent(examId, id -> load(id)
+                .doOnNext(this::store)
+                .doFinally(signal -> loading.remove(id))
+                .cache());
+    }
+
+    public Mono<Void> refresh(Long examId) {
+        return load(examId)
+                .doOnNext(this::store)
+                .then();
+    }
+
+    public void evict(Long examId) {
+        synchronized (keys) {
+            keys.remove(examId);
+        }
+    }
+
+    public int getSize() {
+        synchronized (keys) {
+            return keys.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    // Only active exams are cached; keys of other exams are built per use and dropped.
+    private void store(AnswerKey key) {
+        synchronized (keys) {
+            if (key.isActive()) {
+                keys.put(key.getExamId(), key);
+            } else {
+                keys.remove(key.getExamId());
+            }
+        }
+    }
+
+    private Mono<AnswerKey> load(Long examId) {
+        return examRepository.findById(examId)
+                .flatMap(exam -> Mono.zip(
+                                questionRepository.findByExamIdOrderByOrderIndex(examId).collectList(),
+                                answerRepository.findByExamId(examId).collectList())
+                        .map(tuple -> new AnswerKey(examId, exam.getStatus() == Exam.ExamStatus.ACTIVE,
+                                tuple.getT1(), tuple.getT2())));
+    }
+}
@@ -0,0 +1,7 @@
+package com.camoleze.examapi.service;
+
+public enum DeliveryPolicy {
+    LATEST,
+    DROP_OLDEST,
+    DISCONNECT
+}
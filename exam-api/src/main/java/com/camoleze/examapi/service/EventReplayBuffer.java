@@ -0,0 +1,59 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.ExamEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class EventReplayBuffer {
+
+    // Sequences restart whenever a buffer is created, after an eviction or on another node or process,
+    // so every buffer carries a random epoch that event ids from other buffers will not match.
+    private final long epoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    private final ExamEvent[] events;
+    private long lastSequence;
+    private volatile long lastAppendedAt = System.currentTimeMillis();
+
+    public EventReplayBuffer(int capacity) {
+        this.events = new ExamEvent[capacity];
+    }
+
+    public synchronized long append(ExamEvent event) {
+        long sequence = ++lastSequence;
+        event.setEpoch(epoch);
+        event.setSequence(sequence);
+        events[(int) (sequence % events.length)] = event;
+        lastAppendedAt = System.currentTimeMillis();
+        return sequence;
+    }
+
+    /**
+     * Returns the events published after the given sequence, or {@code null} when they are no
+     * longer (or were never) held by this buffer and the client has to resynchronize.
+     */
+    public synchronized List<ExamEvent> since(long epoch, long sequence) {
+        long oldest = Math.max(1, lastSequence - events.length + 1);
+        if (epoch != this.epoch || sequence > lastSequence || sequence < oldest - 1) {
+            return null;
+        }
+
+        List<ExamEvent> missed = new ArrayList<>((int) (lastSequence - sequence));
+        for (long next = sequence + 1; next <= lastSequence; next++) {
+            missed.add(events[(int) (next % events.length)]);
+        }
+        return missed;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    public long getLastAppendedAt() {
+        return lastAppendedAt;
+    }
+}
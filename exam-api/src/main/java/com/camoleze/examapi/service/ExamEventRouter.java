@@ -0,0 +1,206 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.ExamEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+@Component
+@Slf4j
+public class ExamEventRouter {
+
+    private final Map<Long, ExamChannel> channels = new ConcurrentHashMap<>();
+    private final Map<Long, EventReplayBuffer> replayBuffers = new ConcurrentHashMap<>();
+    private final List<Consumer<ExamEvent>> relays = new CopyOnWriteArrayList<>();
+
+    private final Sinks.Many<ExamEvent> globalSink = Sinks.many().multicast().directBestEffort();
+
+    private final int replayCapacity;
+    private final int replayMaxExams;
+
+    public ExamEventRouter(
+            @Value("${exam.events.replay-capacity:256}") int replayCapacity,
+            @Value("${exam.events.replay-max-exams:1000}") int replayMaxExams
+    ) {
+        this.replayCapacity = replayCapacity;
+        this.replayMaxExams = replayMaxExams;
+    }
+
+    public Flux<ExamEvent> subscribe(Long examId) {
+        return Flux.defer(() -> {
+            ExamChannel channel = channels.compute(examId, (id, existing) -> {
+                ExamChannel target = existing != null ? existing : new ExamChannel();
+                target.subscribers.incrementAndGet();
+                return target;
+            });
+
+            return channel.sink.asFlux()
+                    .doFinally(signal -> release(examId, channel));
+        });
+    }
+
+    /**
+     * Subscribes from the given SSE event id, formatted by {@link #eventId(ExamEvent)}. Ids from another
+     * buffer epoch, or ids that cannot be parsed, are answered with {@code RESYNC_REQUIRED}.
+     */
+    public Flux<ExamEvent> subscribe(Long examId, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return subscribe(examId);
+        }
+
+        return Flux.create(emitter -> {
+            EventReplayBuffer buffer = replayBuffer(examId);
+            Disposable live;
+
+            // Holding the buffer lock keeps publishers out until the live subscription is in place,
+            // so no event can fall between the replayed ones and the live ones.
+            synchronized (buffer) {
+                List<ExamEvent> missed = since(buffer, lastEventId);
+                if (missed != null) {
+                    missed.forEach(emitter::next);
+                } else {
+                    log.debug("Client cannot resume exam {} from event {}", examId, lastEventId);
+                    emitter.next(ExamEvent.builder()
+                            .type(ExamEvent.ExamEventType.RESYNC_REQUIRED)
+                            .examId(examId)
+                            .epoch(buffer.getEpoch())
+                            .sequence(buffer.getLastSequence())
+                            .timestamp(LocalDateTime.now())
+                            .build());
+                }
+
+                live = subscribe(examId).subscribe(emitter::next, emitter::error, emitter::complete);
+            }
+
+            emitter.onDispose(live);
+        });
+    }
+
+    public static String eventId(ExamEvent event) {
+        if (event.getEpoch() == null || event.getSequence() == null) {
+            return null;
+        }
+        return Long.toString(event.getEpoch(), 36) + "-" + event.getSequence();
+    }
+
+    private List<ExamEvent> since(EventReplayBuffer buffer, String lastEventId) {
+        int separator = lastEventId.indexOf('-');
+        if (separator <= 0) {
+            return null;
+        }
+
+        try {
+            return buffer.since(Long.parseLong(lastEventId.substring(0, separator), 36),
+                    Long.parseLong(lastEventId.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public Flux<ExamEvent> subscribeAll() {
+        return globalSink.asFlux();
+    }
+
+    public void addRelay(Consumer<ExamEvent> relay) {
+        relays.add(relay);
+    }
+
+    public void publish(ExamEvent event) {
+        dispatch(event);
+        relays.forEach(relay -> relay.accept(event));
+    }
+
+    public void dispatch(ExamEvent event) {
+        if (event.getExamId() != null) {
+            EventReplayBuffer buffer = replayBuffer(event.getExamId());
+
+            synchronized (buffer) {
+                buffer.append(event);
+
+                ExamChannel channel = channels.get(event.getExamId());
+                if (channel != null) {
+                    channel.emit(event);
+                }
+            }
+        }
+
+        if (globalSink.currentSubscriberCount() > 0) {
+            synchronized (globalSink) {
+                globalSink.tryEmitNext(event);
+            }
+        }
+    }
+
+    public int getActiveSinkCount() {
+        return channels.size();
+    }
+
+    public int getSubscriberCount() {
+        return channels.values().stream()
+                .mapToInt(channel -> channel.subscribers.get())
+                .sum() + globalSink.currentSubscriberCount();
+    }
+
+    public int getReplayBufferCount() {
+        return replayBuffers.size();
+    }
+
+    private EventReplayBuffer replayBuffer(Long examId) {
+        EventReplayBuffer buffer = replayBuffers.get(examId);
+        if (buffer != null) {
+            return buffer;
+        }
+
+        buffer = replayBuffers.computeIfAbsent(examId, id -> new EventReplayBuffer(replayCapacity));
+        if (replayBuffers.size() > replayMaxExams) {
+            evictStalestReplayBuffer(examId);
+        }
+        return buffer;
+    }
+
+    private void evictStalestReplayBuffer(Long keepExamId) {
+        replayBuffers.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(keepExamId))
+                .min(Comparator.comparingLong(entry -> entry.getValue().getLastAppendedAt()))
+                .ifPresent(entry -> {
+                    log.debug("Evicting replay buffer of exam {}", entry.getKey());
+                    replayBuffers.remove(entry.getKey(), entry.getValue());
+                });
+    }
+
+    private void release(Long examId, ExamChannel channel) {
+        channels.computeIfPresent(examId, (id, current) -> {
+            if (current != channel || current.subscribers.decrementAndGet() > 0) {
+                return current;
+            }
+
+            log.debug("Dropping event sink for exam {}", examId);
+            current.sink.tryEmitComplete();
+            return null;
+        });
+    }
+
+    private static final class ExamChannel {
+        private final Sinks.Many<ExamEvent> sink = Sinks.many().multicast().directBestEffort();
+        private final AtomicInteger subscribers = new AtomicInteger();
+
+        private synchronized void emit(ExamEvent event) {
+            Sinks.EmitResult result = sink.tryEmitNext(event);
+            if (result.isFailure()) {
+                log.debug("Event {} for exam {} not delivered: {}", event.getType(), event.getExamId(), result);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.ExamResponse;
+import com.camoleze.examapi.model.Exam;
+import com.camoleze.examapi.repository.ExamRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the encoded JSON of active exams in the two shapes a reader can get: the host's, with the correct
+ * answers, and the participants', without them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExamPayloadCache {
+
+    private final ExamRepository examRepository;
+    private final ExamTreeReader examTreeReader;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Mono<ExamPayload>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Value("${exam.payloads.max-exams:500}")
+    private int maxExams;
+
+    private final Map<Long, ExamPayload> payloads = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, ExamPayload> eldest) {
+            if (size() > maxExams) {
+                log.debug("Evicting encoded payload of exam {}", eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public Mono<byte[]> getPayload(Long examId, Long requestingUserId) {
+        ExamPayload payload;
+        synchronized (payloads) {
+            payload = payloads.get(examId);
+        }
+        if (payload != null) {
+            hits.incrementAndGet();
+            return Mono.just(payload.forUser(requestingUserId));
+        }
+
+        misses.incrementAndGet();
+        return loading.computeIfAbsent(examId, id -> load(id)
+                        .doOnNext(this::store)
+                        .doFinally(signal -> loading.remove(id))
+                        .cache())
+                .map(loaded -> loaded.forUser(requestingUserId));
+    }
+
+    public Mono<Void> refresh(Long examId) {
+        return load(examId)
+                .doOnNext(this::store)
+                .then();
+    }
+
+    public void evict(Long examId) {
+        synchronized (payloads) {
+            payloads.remove(examId);
+        }
+    }
+
+    public int getSize() {
+        synchronized (payloads) {
+            return payloads.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    // Only active exams are cached; drafts can still change and are encoded per request.
+    private void store(ExamPayload payload) {
+        synchronized (payloads) {
+            if (payload.active) {
+                payloads.put(payload.examId, payload);
+            } else {
+                payloads.remove(payload.examId);
+            }
+        }
+    }
+
+    // The tree is read once with the correct answers; the participant variant is encoded after clearing them.
+    private Mono<ExamPayload> load(Long examId) {
+        return examRepository.findById(examId)
+                .flatMap(exam -> examTreeReader.read(exam, true)
+                        .flatMap(response -> Mono.fromCallable(() -> encode(exam, response))));
+    }
+
+    private ExamPayload encode(Exam exam, ExamResponse response) throws JsonProcessingException {
+        byte[] host = objectMapper.writeValueAsBytes(response);
+        response.getQuestions().forEach(question -> question.getAnswers()
+                .forEach(answer -> answer.setIsCorrect(null)));
+        byte[] participant = objectMapper.writeValueAsBytes(response);
+
+        return new ExamPayload(exam.getId(), exam.getHostUserId(), exam.getStatus() == Exam.ExamStatus.ACTIVE,
+                host, participant);
+    }
+
+    private static final class ExamPayload {
+        private final Long examId;
+        private final Long hostUserId;
+        private final boolean active;
+        private final byte[] host;
+        private final byte[] participant;
+
+        private ExamPayload(Long examId, Long hostUserId, boolean active, byte[] host, byte[] participant) {
+            this.examId = examId;
+            this.hostUserId = hostUserId;
+            this.active = active;
+            this.host = host;
+            this.participant = participant;
+        }
+
+        private byte[] forUser(Long userId) {
+            return hostUserId.equals(userId) ? host : participant;
+        }
+    }
+}
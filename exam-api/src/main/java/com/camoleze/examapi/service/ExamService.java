@@ -5,14 +5,18 @@ import com.camoleze.examapi.model.*;
 import com.camoleze.examapi.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -24,9 +28,22 @@ public class ExamService {
     private final AnswerRepository answerRepository;
     private final ExamSessionRepository examSessionRepository;
     private final UserResponseRepository userResponseRepository;
-
-    private final Sinks.Many<ExamEvent> examEventSink = Sinks.many().multicast().onBackpressureBuffer();
-
+    private final ExamEventRouter examEventRouter;
+    private final StatisticsAggregator statisticsAggregator;
+    private final AnswerKeyCache answerKeyCache;
+    private final ActiveSessionCache activeSessionCache;
+    private final ResponseBatchWriter responseBatchWriter;
+    private final IdempotencyWindow idempotencyWindow;
+    private final SessionLanes sessionLanes;
+    private final ExamTreeWriter examTreeWriter;
+    private final ExamTreeReader examTreeReader;
+    private final ExamPayloadCache examPayloadCache;
+    private final ObjectProvider<SubmissionWriteBehind> submissionWriteBehind;
+
+    @Value("${exam.submissions.await-durability:true}")
+    private boolean awaitDurability;
+
+    @Transactional
     public Mono<ExamResponse> createExam(ExamCreateRequest request) {
         return examRepository.save(Exam.builder()
                         .title(request.getTitle())
@@ -36,76 +53,13 @@ public class ExamService {
                         .timeLimit(request.getTimeLimit())
                         .allowRetake(request.getAllowRetake())
                         .build())
-                .flatMap(savedExam -> saveQuestionsAndAnswers(savedExam, request.getQuestions())
+                .flatMap(savedExam -> examTreeWriter.write(savedExam.getId(), request.getQuestions())
                         .then(examRepository.findById(savedExam.getId()))
                         .map(ExamResponse::fromEntity));
     }
 
-    private Mono<Void> saveQuestionsAndAnswers(Exam exam, List<ExamCreateRequest.QuestionCreateRequest> questions) {
-        AtomicInteger orderIndex = new AtomicInteger(0);
-
-        return Flux.fromIterable(questions)
-                .flatMap(questionReq -> {
-                    Question question = Question.builder()
-                            .examId(exam.getId())
-                            .questionText(questionReq.getQuestionText())
-                            .type(Question.QuestionType.valueOf(questionReq.getType()))
-                            .orderIndex(orderIndex.getAndIncrement())
-                            .points(questionReq.getPoints())
-                            .build();
-
-                    return questionRepository.save(question)
-                            .flatMap(savedQuestion -> saveAnswers(savedQuestion, questionReq.getAnswers()));
-                })
-                .then();
-    }
-
-    private Mono<Void> saveAnswers(Question question, List<ExamCreateRequest.AnswerCreateRequest> answers) {
-        if (answers == null || answers.isEmpty()) {
-            return Mono.empty();
-        }
-
-        AtomicInteger orderIndex = new AtomicInteger(0);
-
-        return Flux.fromIterable(answers)
-                .map(answerReq -> Answer.builder()
-                        .questionId(question.getId())
-                        .answerText(answerReq.getAnswerText())
-                        .isCorrect(answerReq.getIsCorrect())
-                        .orderIndex(orderIndex.getAndIncrement())
-                        .build())
-                .flatMap(answerRepository::save)
-                .then();
-    }
-
-    public Mono<ExamResponse> getExam(Long examId, Long requestingUserId) {
-        return examRepository.findById(examId)
-                .flatMap(exam -> {
-                    boolean isHost = exam.getHostUserId().equals(requestingUserId);
-                    return buildExamResponse(exam, isHost);
-                });
-    }
-
-    private Mono<ExamResponse> buildExamResponse(Exam exam, boolean includeCorrectAnswers) {
-        return questionRepository.findByExamIdOrderByOrderIndex(exam.getId())
-                .flatMap(question -> buildQuestionResponse(question, includeCorrectAnswers))
-                .collectList()
-                .map(questions -> {
-                    ExamResponse response = ExamResponse.fromEntity(exam);
-                    response.setQuestions(questions);
-                    return response;
-                });
-    }
-
-    private Mono<QuestionResponse> buildQuestionResponse(Question question, boolean includeCorrectAnswers) {
-        return answerRepository.findByQuestionIdOrderByOrderIndex(question.getId())
-                .map(answer -> AnswerResponse.fromEntity(answer, includeCorrectAnswers))
-                .collectList()
-                .map(answers -> {
-                    QuestionResponse response = QuestionResponse.fromEntity(question);
-                    response.setAnswers(answers);
-                    return response;
-                });
+    public Mono<byte[]> getExam(Long examId, Long requestingUserId) {
+        return examPayloadCache.getPayload(examId, requestingUserId);
     }
 
     public Mono<ExamSessionResponse> joinExam(ExamJoinRequest request) {
@@ -152,36 +106,124 @@ public class ExamService {
                                 .startedAt(LocalDateTime.now())
                                 .totalScore(0)
                                 .maxScore(maxScore)
-                                .build())));
+                                .build())))
+                .doOnNext(activeSessionCache::put)
+                .flatMap(session -> statisticsAggregator.onSessionStarted(session).thenReturn(session));
     }
 
+    public Mono<Void> submitAnswer(AnswerSubmissionRequest request, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return submitAnswer(request);
+        }
+        return idempotencyWindow.execute("answer:" + request.getSessionId() + ":" + idempotencyKey,
+                () -> submitAnswer(request));
+    }
+
+    public Mono<Void> submitAnswers(Long sessionId, BulkAnswerSubmissionRequest request, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return submitAnswers(sessionId, request);
+        }
+        return idempotencyWindow.execute("answers:" + sessionId + ":" + idempotencyKey,
+                () -> submitAnswers(sessionId, request));
+    }
+
+    // Grading and the write, or the enqueue with write-behind, run in the session lane; waiting for a
+    // write-behind batch to become durable happens after the lane is released.
     public Mono<Void> submitAnswer(AnswerSubmissionRequest request) {
-        return examSessionRepository.findById(request.getSessionId())
+        return sessionLanes.run(request.getSessionId(), () -> processSubmission(request))
+                .flatMap(pending -> pending)
+                .then();
+    }
+
+    private Mono<Mono<UserResponse>> processSubmission(AnswerSubmissionRequest request) {
+        return activeSessionCache.getSession(request.getSessionId())
                 .switchIfEmpty(Mono.error(new RuntimeException("Sessão não encontrada")))
                 .flatMap(session -> processAnswerSubmission(session, request)
-                        .doOnSuccess(response -> {
-                            broadcastEvent(ExamEvent.builder()
-                                    .type(ExamEvent.ExamEventType.ANSWER_SUBMITTED)
-                                    .examId(session.getExamId())
-                                    .userId(session.getUserId())
-                                    .data(response)
-                                    .timestamp(LocalDateTime.now())
-                                    .build());
+                        .map(pending -> pending.doOnNext(response -> announceResponse(session, response))));
+    }
 
-                            broadcastEvent(ExamEvent.builder()
-                                    .type(ExamEvent.ExamEventType.STATISTICS_UPDATED)
-                                    .examId(session.getExamId())
-                                    .userId(session.getUserId())
-                                    .data(null)
-                                    .timestamp(LocalDateTime.now())
-                                    .build());
-                        }))
+    private void announceResponse(ActiveSession session, UserResponse response) {
+        broadcastEvent(ExamEvent.builder()
+                .type(ExamEvent.ExamEventType.ANSWER_SUBMITTED)
+                .examId(session.getExamId())
+                .userId(session.getUserId())
+                .data(response)
+                .timestamp(LocalDateTime.now())
+                .build());
+
+        broadcastEvent(ExamEvent.builder()
+                .type(ExamEvent.ExamEventType.STATISTICS_UPDATED)
+                .examId(session.getExamId())
+                .userId(session.getUserId())
+                .data(null)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    // Grades every answer against one answer-key lookup and stores them with a single batched upsert,
+    // so the session score moves once and one event replaces the per-answer ones. Single answers still
+    // queued for write-behind are flushed first, so an older one cannot overwrite the bulk write.
+    public Mono<Void> submitAnswers(Long sessionId, BulkAnswerSubmissionRequest request) {
+        return sessionLanes.run(sessionId, () -> processBulkSubmission(sessionId, request));
+    }
+
+    private Mono<Void> processBulkSubmission(Long sessionId, BulkAnswerSubmissionRequest request) {
+        return activeSessionCache.getSession(sessionId)
+                .switchIfEmpty(Mono.error(new RuntimeException("Sessão não encontrada")))
+                .flatMap(session -> answerKeyCache.getAnswerKey(session.getExamId())
+                        .flatMap(answerKey -> {
+                            Map<Long, ResponseWrite> writes = new LinkedHashMap<>();
+                            for (BulkAnswerItem item : request.getAnswers()) {
+                                AnswerKey.QuestionKey question = answerKey.question(item.getQuestionId());
+                                if (question == null) {
+                                    return Mono.error(new RuntimeException("Questão não encontrada"));
+                                }
+                                writes.put(question.getId(), grade(session, question, item));
+                            }
+
+                            return pendingWritesFlushed(sessionId)
+                                    .then(responseBatchWriter.write(new ArrayList<>(writes.values())))
+                                    .map(results -> results.stream()
+                                            .map(result -> {
+                                                ResponseWrite write = writes.get(result.getQuestionId());
+                                                return applyResponse(session, answerKey.question(result.getQuestionId()),
+                                                        write.getAnswerId(), write.getResponseText(), result);
+                                            })
+                                            .toList());
+                        })
+                        .doOnSuccess(responses -> broadcastEvent(ExamEvent.builder()
+                                .type(ExamEvent.ExamEventType.ANSWERS_SUBMITTED)
+                                .examId(session.getExamId())
+                                .userId(session.getUserId())
+                                .data(responses)
+                                .timestamp(LocalDateTime.now())
+                                .build())))
                 .then();
     }
 
-    private Mono<UserResponse> processAnswerSubmission(ExamSession session, AnswerSubmissionRequest request) {
-        return questionRepository.findById(request.getQuestionId())
-                .flatMap(question -> {
+    private ResponseWrite grade(ActiveSession session, AnswerKey.QuestionKey question, BulkAnswerItem item) {
+        if (!question.getType().isChoiceAnswer()) {
+            return new ResponseWrite(session.getId(), question.getId(), null, item.getResponseText(), false, 0);
+        }
+
+        Long answerId = item.getAnswerId();
+        if (answerId == null || !question.hasAnswer(answerId)) {
+            throw new RuntimeException("Resposta não pertence à questão");
+        }
+
+        boolean isCorrect = question.isCorrect(answerId);
+        return new ResponseWrite(session.getId(), question.getId(), answerId, null, isCorrect,
+                isCorrect ? question.getPoints() : 0);
+    }
+
+    private Mono<Mono<UserResponse>> processAnswerSubmission(ActiveSession session, AnswerSubmissionRequest request) {
+        return answerKeyCache.getAnswerKey(session.getExamId())
+                .flatMap(answerKey -> {
+                    AnswerKey.QuestionKey question = answerKey.question(request.getQuestionId());
+                    if (question == null) {
+                        return Mono.error(new RuntimeException("Questão não encontrada"));
+                    }
+
                     if (question.getType().isChoiceAnswer()) {
                         return processChoiceAnswer(session, question, request);
                     } else {
@@ -190,108 +232,151 @@ public class ExamService {
                 });
     }
 
-    private Mono<UserResponse> processChoiceAnswer(ExamSession session, Question question, AnswerSubmissionRequest request) {
-        return answerRepository.findById(request.getAnswerId())
-                .flatMap(answer -> userResponseRepository.findBySessionIdAndQuestionId(session.getId(), question.getId())
-                        .flatMap(existing -> {
-                            int oldPoints = existing.getPointsEarned();
+    private Mono<Mono<UserResponse>> processChoiceAnswer(ActiveSession session, AnswerKey.QuestionKey question,
+                                                         AnswerSubmissionRequest request) {
+        Long answerId = request.getAnswerId();
+        if (answerId == null || !question.hasAnswer(answerId)) {
+            return Mono.error(new RuntimeException("Resposta não pertence à questão"));
+        }
 
-                            existing.setAnswerId(answer.getId());
-                            existing.setIsCorrect(answer.getIsCorrect());
-                            existing.setPointsEarned(answer.getIsCorrect() ? question.getPoints() : 0);
+        boolean isCorrect = question.isCorrect(answerId);
+        return saveResponse(session, question, answerId, null, isCorrect, isCorrect ? question.getPoints() : 0);
+    }
 
-                            int newPoints = existing.getPointsEarned();
+    private Mono<Mono<UserResponse>> processShortAnswer(ActiveSession session, AnswerKey.QuestionKey question,
+                                                        AnswerSubmissionRequest request) {
+        return saveResponse(session, question, null, request.getResponseText(), false, 0);
+    }
 
-                            return userResponseRepository.save(existing)
-                                    .flatMap(savedResponse -> updateSessionScore(session, newPoints - oldPoints)
-                                            .thenReturn(savedResponse)
-                                    );
-                        })
-                        .switchIfEmpty(Mono.defer(() -> {
-                            UserResponse newResponse = UserResponse.builder()
-                                    .sessionId(session.getId())
-                                    .questionId(question.getId())
-                                    .answerId(answer.getId())
-                                    .isCorrect(answer.getIsCorrect())
-                                    .pointsEarned(answer.getIsCorrect() ? question.getPoints() : 0)
-                                    .build();
-
-                            return userResponseRepository.save(newResponse)
-                                    .flatMap(savedResponse -> updateSessionScore(session, savedResponse.getPointsEarned()))
-                                    .thenReturn(newResponse);
-                        }))
-                );
+    // Completes once the response is written or queued; the inner Mono emits the stored response once it is
+    // durable. It is empty when a later submission in the same write-behind batch replaced the response, or
+    // when durability is not awaited; the response is then announced by the flush, with its id.
+    private Mono<Mono<UserResponse>> saveResponse(ActiveSession session, AnswerKey.QuestionKey question, Long answerId,
+                                                  String responseText,
+                                                  boolean isCorrect, int points) {
+        SubmissionWriteBehind writeBehind = submissionWriteBehind.getIfAvailable();
+        if (writeBehind == null) {
+            return responseBatchWriter.write(new ResponseWrite(session.getId(), question.getId(), answerId, responseText,
+                            isCorrect, points))
+                    .map(result -> Mono.just(applyResponse(session, question, answerId, responseText, result)));
+        }
 
-    }
+        return Mono.fromCallable(() -> writeBehind.submit(session.getId(), question.getId(), answerId, responseText,
+                        isCorrect, points))
+                .map(durable -> {
+                    if (awaitDurability) {
+                        return durable.map(result -> applyResponse(session, question, answerId, responseText, result));
+                    }
 
-    private Mono<UserResponse> processShortAnswer(ExamSession session, Question question, AnswerSubmissionRequest request) {
-        return userResponseRepository.findBySessionIdAndQuestionId(session.getId(), question.getId())
-                .flatMap(existing -> {
-                    existing.setResponseText(request.getResponseText());
-                    existing.setIsCorrect(false);
-                    existing.setPointsEarned(0);
-                    return userResponseRepository.save(existing);
-                })
-                .switchIfEmpty(
-                        Mono.defer(() -> {
-                            UserResponse newResponse = UserResponse.builder()
-                                    .sessionId(session.getId())
-                                    .questionId(question.getId())
-                                    .responseText(request.getResponseText())
-                                    .isCorrect(false)
-                                    .pointsEarned(0)
-                                    .build();
-                            return userResponseRepository.save(newResponse);
-                        })
-                );
+                    // Acknowledged on enqueue; the events follow once the batch is written.
+                    durable.subscribe(
+                            result -> announceResponse(session,
+                                    applyResponse(session, question, answerId, responseText, result)),
+                            error -> log.error("Failed to persist answer of session {} to question {}: {}",
+                                    session.getId(), question.getId(), error.getMessage()));
+                    return Mono.<UserResponse>empty();
+                });
     }
 
+    private UserResponse applyResponse(ActiveSession session, AnswerKey.QuestionKey question, Long answerId,
+                                       String responseText,
+                                       ResponseUpsertRow result) {
+        int pointsDelta = result.getPointsEarned() - result.getPreviousPoints();
+        session.recordResponse(result.getExisted(), result.getTotalScore());
+
+        statisticsAggregator.onResponseRecorded(session.getExamId(), session.getId(), question.getId(),
+                result.getExisted(), result.getWasCorrect(), result.getIsCorrect(), pointsDelta);
+        if (question.getType().isChoiceAnswer()) {
+            statisticsAggregator.onAnswerChanged(session.getExamId(), question.getId(),
+                    result.getPreviousAnswerId(), answerId);
+        }
+
+        return UserResponse.builder()
+                .id(result.getResponseId())
+                .sessionId(session.getId())
+                .questionId(question.getId())
+                .answerId(answerId)
+                .responseText(responseText)
+                .isCorrect(result.getIsCorrect())
+                .pointsEarned(result.getPointsEarned())
+                .respondedAt(result.getRespondedAt())
+                .build();
+    }
 
     private Mono<Void> updateSessionScore(ExamSession session, int pointsDelta) {
-        int newScore = session.getTotalScore() + pointsDelta;
-        session.setTotalScore(newScore);
-        session.setUpdatedAt(LocalDateTime.now());
-        return examSessionRepository.save(session).then();
+        return examSessionRepository.addToTotalScore(session.getId(), pointsDelta)
+                .doOnNext(totalScore -> {
+                    session.setTotalScore(totalScore);
+                    activeSessionCache.updateScore(session.getId(), totalScore);
+                })
+                .then();
     }
 
     public Mono<ExamSessionResponse> completeExam(Long sessionId) {
-        return examSessionRepository.findById(sessionId)
-                .flatMap(session -> {
-                    ExamSession completedSession = ExamSession.builder()
-                            .id(session.getId())
-                            .examId(session.getExamId())
-                            .userId(session.getUserId())
-                            .status(ExamSession.SessionStatus.COMPLETED)
-                            .startedAt(session.getStartedAt())
-                            .completedAt(LocalDateTime.now())
-                            .totalScore(session.getTotalScore())
-                            .maxScore(session.getMaxScore())
-                            .createdAt(session.getCreatedAt())
-                            .updatedAt(LocalDateTime.now())
-                            .build();
-
-                    return examSessionRepository.save(completedSession)
-                            .map(ExamSessionResponse::fromEntity)
-                            .doOnSuccess(response -> {
-                                broadcastEvent(ExamEvent.builder()
-                                        .type(ExamEvent.ExamEventType.EXAM_COMPLETED)
-                                        .examId(response.getExamId())
-                                        .userId(response.getUserId())
-                                        .data(response)
-                                        .timestamp(LocalDateTime.now())
-                                        .build());
+        return sessionLanes.run(sessionId, () -> completeSession(sessionId));
+    }
 
-                                broadcastEvent(ExamEvent.builder()
-                                        .type(ExamEvent.ExamEventType.STATISTICS_UPDATED)
-                                        .examId(response.getExamId())
-                                        .userId(response.getUserId())
-                                        .data(null)
-                                        .timestamp(LocalDateTime.now())
-                                        .build());
-                            });
+    // The final score is summed from the stored responses in the same statement that completes the session,
+    // so a running total that drifted never reaches the grade. Answers still queued for write-behind are
+    // flushed first, while the lane keeps new ones out.
+    private Mono<ExamSessionResponse> completeSession(Long sessionId) {
+        return pendingWritesFlushed(sessionId)
+                .then(examSessionRepository.completeWithRecomputedScore(sessionId))
+                .doOnNext(completed -> {
+                    activeSessionCache.invalidate(completed.getId());
+                    statisticsAggregator.onSessionCompleted(completed);
+                })
+                .map(ExamSessionResponse::fromEntity)
+                .doOnNext(response -> {
+                    broadcastEvent(ExamEvent.builder()
+                            .type(ExamEvent.ExamEventType.EXAM_COMPLETED)
+                            .examId(response.getExamId())
+                            .userId(response.getUserId())
+                            .data(response)
+                            .timestamp(LocalDateTime.now())
+                            .build());
+
+                    broadcastEvent(ExamEvent.builder()
+                            .type(ExamEvent.ExamEventType.STATISTICS_UPDATED)
+                            .examId(response.getExamId())
+                            .userId(response.getUserId())
+                            .data(null)
+                            .timestamp(LocalDateTime.now())
+                            .build());
                 });
     }
 
+    private Mono<Void> pendingWritesFlushed(Long sessionId) {
+        SubmissionWriteBehind writeBehind = submissionWriteBehind.getIfAvailable();
+        return writeBehind != null ? writeBehind.flushed(sessionId) : Mono.empty();
+    }
+
+    /**
+     * Recomputes every session score of the exam from its responses in one set-based update and returns
+     * the sessions whose stored total was corrected.
+     */
+    public Flux<ExamSessionResponse> recomputeSessionScores(Long examId) {
+        return responseBatchWriter.recomputeScores(examId)
+                .doOnNext(corrected -> activeSessionCache.updateScore(corrected.getId(), corrected.getTotalScore()))
+                .collectList()
+                .flatMapMany(corrected -> {
+                    if (corrected.isEmpty()) {
+                        return Flux.empty();
+                    }
+
+                    log.info("Corrected the total score of {} sessions of exam {}", corrected.size(), examId);
+                    return statisticsAggregator.refresh(examId)
+                            .doOnSuccess(ignored -> broadcastEvent(ExamEvent.builder()
+                                    .type(ExamEvent.ExamEventType.STATISTICS_UPDATED)
+                                    .examId(examId)
+                                    .data(null)
+                                    .timestamp(LocalDateTime.now())
+                                    .build()))
+                            .thenMany(Flux.fromIterable(corrected));
+                })
+                .map(ExamSessionResponse::fromEntity);
+    }
+
     public Mono<Exam> activateExam(Long examId) {
         return examRepository.findById(examId)
                 .map(exam -> Exam.builder()
@@ -306,31 +391,40 @@ public class ExamService {
                         .createdAt(exam.getCreatedAt())
                         .updatedAt(LocalDateTime.now())
                         .build())
-                .flatMap(examRepository::save);
+                .flatMap(examRepository::save)
+                .flatMap(saved -> Mono.when(
+                                statisticsAggregator.refresh(saved.getId()),
+                                answerKeyCache.refresh(saved.getId()),
+                                examPayloadCache.refresh(saved.getId()))
+                        .thenReturn(saved));
     }
 
     public Flux<ExamEvent> getExamEventStream() {
-        return examEventSink.asFlux();
+        return examEventRouter.subscribeAll();
     }
 
     public Flux<ExamEvent> getExamEventStream(Long examId) {
-        return examEventSink.asFlux().filter(event -> event.getExamId().equals(examId));
+        return examEventRouter.subscribe(examId);
+    }
+
+    public Flux<ExamEvent> getExamEventStream(Long examId, String lastEventId) {
+        return examEventRouter.subscribe(examId, lastEventId);
     }
 
     public void broadcastEvent(ExamEvent event) {
-        examEventSink.tryEmitNext(event);
+        examEventRouter.publish(event);
     }
 
     public Flux<ExamResponse> getExamsByHost(Long hostUserId) {
         return examRepository.findByHostUserId(hostUserId)
-                .flatMap(exam -> buildExamResponse(exam, true));
+                .flatMap(exam -> examTreeReader.read(exam, true));
     }
 
     public Flux<ExamResponse> getExamsByParticipant(Long userId) {
         return examSessionRepository.findByUserId(userId)
                 .flatMap(session -> examRepository.findById(session.getExamId()))
                 .distinct()
-                .flatMap(exam -> buildExamResponse(exam, false));
+                .flatMap(exam -> examTreeReader.read(exam, false));
     }
 
     public Flux<ExamSessionResponse> getSessionsByExam(Long examId) {
@@ -382,6 +476,13 @@ public class ExamService {
     }
 
     public Mono<UserResponseDTO> updateShortAnswerCorrection(Long responseId, Boolean isCorrect) {
+        return userResponseRepository.findById(responseId)
+                .flatMap(response -> sessionLanes.run(response.getSessionId(),
+                        () -> applyShortAnswerCorrection(responseId, isCorrect)));
+    }
+
+    // Re-reads the response inside the session lane so the correction sees the latest answer.
+    private Mono<UserResponseDTO> applyShortAnswerCorrection(Long responseId, Boolean isCorrect) {
         return userResponseRepository.findById(responseId)
                 .flatMap(response -> {
                     if (response.getResponseText() == null || response.getResponseText().isEmpty()) {
@@ -394,14 +495,19 @@ public class ExamService {
                                     return Mono.error(new RuntimeException("Esta questão não é do tipo resposta curta"));
                                 }
 
+                                boolean wasCorrect = Boolean.TRUE.equals(response.getIsCorrect());
+                                int previousPoints = response.getPointsEarned() != null ? response.getPointsEarned() : 0;
+                                int points = isCorrect ? question.getPoints() : 0;
+                                int pointsDelta = points - previousPoints;
                                 response.setIsCorrect(isCorrect);
-                                response.setPointsEarned(isCorrect ? question.getPoints() : 0);
+                                response.setPointsEarned(points);
 
                                 return userResponseRepository.save(response)
                                         .flatMap(savedResponse -> examSessionRepository.findById(response.getSessionId())
-                                                .flatMap(session -> updateSessionScore(
-                                                        session,
-                                                        isCorrect ? question.getPoints() : -question.getPoints())
+                                                .flatMap(session -> updateSessionScore(session, pointsDelta)
+                                                        .doOnSuccess(ignored -> statisticsAggregator.onResponseRecorded(
+                                                                session.getExamId(), session.getId(), question.getId(),
+                                                                true, wasCorrect, isCorrect, pointsDelta))
                                                         .then(savedResponse.getAnswerId() != null 
                                                             ? answerRepository.findById(savedResponse.getAnswerId())
                                                                 .map(answer -> UserResponseDTO.builder()
@@ -0,0 +1,58 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.AnswerResponse;
+import com.camoleze.examapi.dto.ExamResponse;
+import com.camoleze.examapi.dto.QuestionResponse;
+import com.camoleze.examapi.model.Exam;
+import com.camoleze.examapi.model.ExamTreeRow;
+import com.camoleze.examapi.repository.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ExamTreeReader {
+
+    private final QuestionRepository questionRepository;
+
+    // Questions and their answers arrive as one ordered join, so each row either extends the last question
+    // or starts the next one.
+    public Mono<ExamResponse> read(Exam exam, boolean includeCorrectAnswers) {
+        return questionRepository.findTreeByExamId(exam.getId())
+                .collect(ArrayList<QuestionResponse>::new,
+                        (questions, row) -> appendTreeRow(questions, row, includeCorrectAnswers))
+                .map(questions -> {
+                    ExamResponse response = ExamResponse.fromEntity(exam);
+                    response.setQuestions(questions);
+                    return response;
+                });
+    }
+
+    private void appendTreeRow(List<QuestionResponse> questions, ExamTreeRow row, boolean includeCorrectAnswers) {
+        QuestionResponse question = questions.isEmpty() ? null : questions.get(questions.size() - 1);
+        if (question == null || !question.getId().equals(row.getQuestionId())) {
+            question = QuestionResponse.builder()
+                    .id(row.getQuestionId())
+                    .questionText(row.getQuestionText())
+                    .type(row.getType())
+                    .orderIndex(row.getQuestionOrderIndex())
+                    .points(row.getPoints())
+                    .answers(new ArrayList<>())
+                    .build();
+            questions.add(question);
+        }
+
+        if (row.getAnswerId() != null) {
+            question.getAnswers().add(AnswerResponse.builder()
+                    .id(row.getAnswerId())
+                    .answerText(row.getAnswerText())
+                    .isCorrect(includeCorrectAnswers ? row.getIsCorrect() : null)
+                    .orderIndex(row.getAnswerOrderIndex())
+                    .build());
+        }
+    }
+}
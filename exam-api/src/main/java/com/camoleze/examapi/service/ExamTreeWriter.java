@@ -0,0 +1,91 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.ExamCreateRequest;
+import com.camoleze.examapi.model.Question;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ExamTreeWriter {
+
+    // Questions take their order index from their position in the request; answers find their question
+    // through that index, so the whole tree is inserted by one statement. Missing points and correctness
+    // get the column defaults, which explicit NULLs would otherwise bypass.
+    private static final String INSERT_SQL = """
+            WITH inserted_questions AS (
+                INSERT INTO questions (exam_id, question_text, type, order_index, points)
+                SELECT :examId, q.question_text, q.type, q.position - 1, COALESCE(q.points, 1)
+                FROM UNNEST(:questionTexts::text[], :types::varchar[], :points::integer[])
+                     WITH ORDINALITY AS q(question_text, type, points, position)
+                ORDER BY q.position
+                RETURNING id, order_index
+            ),
+            inserted_answers AS (
+                INSERT INTO answers (question_id, answer_text, is_correct, order_index)
+                SELECT iq.id, a.answer_text, COALESCE(a.is_correct, FALSE), a.order_index
+                FROM UNNEST(:answerQuestions::integer[], :answerTexts::text[], :answerCorrect::boolean[],
+                            :answerOrder::integer[])
+                     AS a(question_index, answer_text, is_correct, order_index)
+                JOIN inserted_questions iq ON iq.order_index = a.question_index
+                ORDER BY a.question_index, a.order_index
+                RETURNING id
+            )
+            SELECT (SELECT COUNT(*) FROM inserted_questions) AS questions,
+                   (SELECT COUNT(*) FROM inserted_answers) AS answers
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Inserts the questions of the exam and their answers in request order. Question types are checked
+     * before anything is sent to the database.
+     */
+    public Mono<Void> write(Long examId, List<ExamCreateRequest.QuestionCreateRequest> questions) {
+        if (questions == null || questions.isEmpty()) {
+            return Mono.empty();
+        }
+
+        List<String> questionTexts = new ArrayList<>(questions.size());
+        List<String> types = new ArrayList<>(questions.size());
+        List<Integer> points = new ArrayList<>(questions.size());
+        List<Integer> answerQuestions = new ArrayList<>();
+        List<String> answerTexts = new ArrayList<>();
+        List<Boolean> answerCorrect = new ArrayList<>();
+        List<Integer> answerOrder = new ArrayList<>();
+
+        for (int questionIndex = 0; questionIndex < questions.size(); questionIndex++) {
+            ExamCreateRequest.QuestionCreateRequest question = questions.get(questionIndex);
+            questionTexts.add(question.getQuestionText());
+            types.add(Question.QuestionType.valueOf(question.getType()).name());
+            points.add(question.getPoints());
+
+            List<ExamCreateRequest.AnswerCreateRequest> answers = question.getAnswers();
+            if (answers == null) {
+                continue;
+            }
+            for (int answerIndex = 0; answerIndex < answers.size(); answerIndex++) {
+                answerQuestions.add(questionIndex);
+                answerTexts.add(answers.get(answerIndex).getAnswerText());
+                answerCorrect.add(answers.get(answerIndex).getIsCorrect());
+                answerOrder.add(answerIndex);
+            }
+        }
+
+        return databaseClient.sql(INSERT_SQL)
+                .bind("examId", examId)
+                .bind("questionTexts", questionTexts.toArray(String[]::new))
+                .bind("types", types.toArray(String[]::new))
+                .bind("points", points.toArray(Integer[]::new))
+                .bind("answerQuestions", answerQuestions.toArray(Integer[]::new))
+                .bind("answerTexts", answerTexts.toArray(String[]::new))
+                .bind("answerCorrect", answerCorrect.toArray(Boolean[]::new))
+                .bind("answerOrder", answerOrder.toArray(Integer[]::new))
+                .then();
+    }
+}
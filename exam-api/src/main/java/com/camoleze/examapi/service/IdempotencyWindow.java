@@ -0,0 +1,103 @@
+package com.camoleze.examapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class IdempotencyWindow {
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final long ttlMs;
+    private final int maxKeys;
+
+    public IdempotencyWindow(
+            @Value("${exam.submissions.idempotency.ttl-ms:600000}") long ttlMs,
+            @Value("${exam.submissions.idempotency.max-keys:100000}") int maxKeys
+    ) {
+        this.ttlMs = ttlMs;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Runs the action once per key within the window. Repeated keys get the cached outcome of the
+     * first call, or share it while it is still running; failed calls are forgotten so they can be retried.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String key, Supplier<Mono<T>> action) {
+        return Mono.defer(() -> {
+            Entry entry;
+            synchronized (entries) {
+                expire(System.currentTimeMillis());
+                entry = entries.get(key);
+                if (entry == null) {
+                    Entry created = new Entry(System.currentTimeMillis());
+                    created.result = Mono.defer(action)
+                            .doOnError(error -> {
+                                synchronized (entries) {
+                                    entries.remove(key, created);
+                                }
+                            })
+                            .cache();
+                    entries.put(key, created);
+                    misses.incrementAndGet();
+                    return (Mono<T>) created.result;
+                }
+            }
+
+            hits.incrementAndGet();
+            log.debug("Replaying result of idempotent request {}", key);
+            return (Mono<T>) entry.result;
+        });
+    }
+
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total > 0 ? (double) hits.get() / total : 0.0;
+    }
+
+    // Entries are kept in insertion order, so the oldest ones are always at the head.
+    private void expire(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry oldest = iterator.next();
+            if (entries.size() < maxKeys && now - oldest.createdAt <= ttlMs) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final long createdAt;
+        private Mono<?> result;
+
+        private Entry(long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+}
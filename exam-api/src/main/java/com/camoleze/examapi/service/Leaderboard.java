@@ -0,0 +1,91 @@
+package com.camoleze.examapi.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sessions ordered by (total score, percentage, answered) descending, then by user and session.
+ * Not thread-safe; {@link LiveExamStatistics} guards every access.
+ */
+public class Leaderboard {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt((Entry entry) -> entry.totalScore).reversed()
+            .thenComparing(Comparator.comparingDouble((Entry entry) -> entry.percentage).reversed())
+            .thenComparing(Comparator.comparingInt((Entry entry) -> entry.answered).reversed())
+            .thenComparing(entry -> entry.userId)
+            .thenComparing(entry -> entry.sessionId);
+
+    // A sorted array keeps top-N reads sequential and rank lookups a binary search.
+    private final List<Entry> ranking = new ArrayList<>();
+    private final Map<Long, Entry> bySession = new HashMap<>();
+    private final Map<Long, Long> sessionByUser = new HashMap<>();
+
+    public void update(Long sessionId, Long userId, int totalScore, double percentage, int answered) {
+        Entry current = bySession.get(sessionId);
+        if (current != null && current.totalScore == totalScore && current.percentage == percentage
+                && current.answered == answered) {
+            return;
+        }
+
+        remove(sessionId);
+        if (userId == null || answered == 0) {
+            return;
+        }
+
+        Entry entry = new Entry(sessionId, userId, totalScore, percentage, answered);
+        int index = Collections.binarySearch(ranking, entry, ORDER);
+        ranking.add(-index - 1, entry);
+        bySession.put(sessionId, entry);
+        sessionByUser.put(userId, sessionId);
+    }
+
+    public void remove(Long sessionId) {
+        Entry entry = bySession.remove(sessionId);
+        if (entry != null) {
+            ranking.remove(Collections.binarySearch(ranking, entry, ORDER));
+            sessionByUser.remove(entry.userId, sessionId);
+        }
+    }
+
+    public List<Long> top(int limit) {
+        int size = Math.min(Math.max(limit, 0), ranking.size());
+        List<Long> sessionIds = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sessionIds.add(ranking.get(i).sessionId);
+        }
+        return sessionIds;
+    }
+
+    /**
+     * Returns the 1-based position of the user's session, or {@code null} when it is not ranked.
+     */
+    public Integer rankOf(Long userId) {
+        Long sessionId = sessionByUser.get(userId);
+        Entry entry = sessionId != null ? bySession.get(sessionId) : null;
+        return entry != null ? Collections.binarySearch(ranking, entry, ORDER) + 1 : null;
+    }
+
+    public int size() {
+        return ranking.size();
+    }
+
+    private static final class Entry {
+        private final Long sessionId;
+        private final Long userId;
+        private final int totalScore;
+        private final double percentage;
+        private final int answered;
+
+        private Entry(Long sessionId, Long userId, int totalScore, double percentage, int answered) {
+            this.sessionId = sessionId;
+            this.userId = userId;
+            this.totalScore = totalScore;
+            this.percentage = percentage;
+            this.answered = answered;
+        }
+    }
+}
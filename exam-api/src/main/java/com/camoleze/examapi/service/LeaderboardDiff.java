@@ -0,0 +1,47 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.UserStatistics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the successive top-N snapshots delivered to one subscriber into the entries that changed: users that
+ * entered, moved or changed their figures, with their new and previous rank, and users that left, with a
+ * null rank. Not thread-safe; each subscriber owns one.
+ */
+public class LeaderboardDiff {
+
+    private Map<Long, UserStatistics> previous = new LinkedHashMap<>();
+    private Map<Long, Integer> previousRanks = new HashMap<>();
+
+    public List<UserStatistics> changes(List<UserStatistics> snapshot) {
+        Map<Long, UserStatistics> current = new LinkedHashMap<>();
+        Map<Long, Integer> ranks = new HashMap<>();
+        List<UserStatistics> changes = new ArrayList<>();
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            UserStatistics user = snapshot.get(i);
+            Integer rank = i + 1;
+            Integer previousRank = previousRanks.get(user.getUserId());
+            if (!rank.equals(previousRank) || !user.equals(previous.get(user.getUserId()))) {
+                changes.add(user.toBuilder().rank(rank).previousRank(previousRank).build());
+            }
+            current.put(user.getUserId(), user);
+            ranks.put(user.getUserId(), rank);
+        }
+
+        previous.forEach((userId, user) -> {
+            if (!current.containsKey(userId)) {
+                changes.add(user.toBuilder().rank(null).previousRank(previousRanks.get(userId)).build());
+            }
+        });
+
+        previous = current;
+        previousRanks = ranks;
+        return changes;
+    }
+}
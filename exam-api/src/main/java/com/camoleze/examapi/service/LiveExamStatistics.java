@@ -0,0 +1,360 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.AnswerStatistics;
+import com.camoleze.examapi.dto.ExamStatistics;
+import com.camoleze.examapi.dto.QuestionStatistics;
+import com.camoleze.examapi.dto.ScoreDistribution;
+import com.camoleze.examapi.dto.StatisticsResponse;
+import com.camoleze.examapi.dto.UserStatistics;
+import com.camoleze.examapi.model.AnswerStatisticsRow;
+import com.camoleze.examapi.model.ExamSession;
+import com.camoleze.examapi.model.ExamStatisticsRow;
+import com.camoleze.examapi.model.QuestionStatisticsRow;
+import com.camoleze.examapi.model.SessionStatisticsRow;
+import com.camoleze.examapi.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class LiveExamStatistics {
+
+    private static final double SCORE_TOLERANCE = 0.01;
+
+    private final Long examId;
+    private final String examTitle;
+    private final Map<Long, QuestionCounters> questions = new LinkedHashMap<>();
+    private final Map<Long, SessionCounters> sessions = new LinkedHashMap<>();
+    private final Leaderboard leaderboard = new Leaderboard();
+    private final ScoreHistogram histogram = new ScoreHistogram();
+
+    private int completedParticipants;
+    private double completedPercentageSum;
+    private volatile long lastAccessedAt = System.currentTimeMillis();
+
+    public LiveExamStatistics(ExamStatisticsRow exam, List<QuestionStatisticsRow> questions,
+                              List<AnswerStatisticsRow> answers, List<SessionStatisticsRow> sessions) {
+        this.examId = exam.getExamId();
+        this.examTitle = exam.getExamTitle();
+        this.completedParticipants = exam.getCompletedParticipants() != null ? exam.getCompletedParticipants().intValue() : 0;
+        this.completedPercentageSum = exam.getAverageScore() != null ? exam.getAverageScore() * completedParticipants : 0.0;
+        questions.forEach(question -> this.questions.put(question.getQuestionId(), new QuestionCounters(question)));
+        answers.forEach(answer -> {
+            QuestionCounters question = this.questions.get(answer.getQuestionId());
+            if (question != null) {
+                question.answers.put(answer.getAnswerId(), new AnswerCounters(answer));
+            }
+        });
+        sessions.forEach(session -> {
+            SessionCounters counters = new SessionCounters(session);
+            this.sessions.put(session.getSessionId(), counters);
+            histogram.add(counters.scorePercentage());
+            rank(session.getSessionId(), counters);
+        });
+    }
+
+    public Long getExamId() {
+        return examId;
+    }
+
+    public long getLastAccessedAt() {
+        return lastAccessedAt;
+    }
+
+    public void touch() {
+        lastAccessedAt = System.currentTimeMillis();
+    }
+
+    public synchronized void addSession(ExamSession session, User user) {
+        if (sessions.containsKey(session.getId())) {
+            return;
+        }
+
+        track(session.getId(), new SessionCounters(session, user));
+    }
+
+    public synchronized void recordResponse(Long sessionId, Long questionId, boolean existed,
+                                            boolean wasCorrect, boolean isCorrect, int pointsDelta) {
+        int correctDelta = (isCorrect ? 1 : 0) - (wasCorrect ? 1 : 0);
+        int answeredDelta = existed ? 0 : 1;
+
+        QuestionCounters question = questions.get(questionId);
+        if (question != null) {
+            question.total += answeredDelta;
+            question.correct += correctDelta;
+        }
+
+        SessionCounters session = sessions.get(sessionId);
+        if (session != null) {
+            session.answered += answeredDelta;
+            session.correct += correctDelta;
+            applyScoreDelta(session, pointsDelta);
+            session.lastActivity = LocalDateTime.now();
+            rank(sessionId, session);
+        }
+    }
+
+    public synchronized void changeAnswer(Long questionId, Long previousAnswerId, Long answerId) {
+        QuestionCounters question = questions.get(questionId);
+        if (question == null || Objects.equals(previousAnswerId, answerId)) {
+            return;
+        }
+
+        AnswerCounters previous = previousAnswerId != null ? question.answers.get(previousAnswerId) : null;
+        if (previous != null) {
+            previous.picks--;
+        }
+        AnswerCounters current = answerId != null ? question.answers.get(answerId) : null;
+        if (current != null) {
+            current.picks++;
+        }
+    }
+
+    public synchronized void completeSession(ExamSession completed) {
+        SessionCounters session = sessions.get(completed.getId());
+        if (session == null || session.status == ExamSession.SessionStatus.COMPLETED) {
+            return;
+        }
+
+        double previous = session.scorePercentage();
+        session.status = ExamSession.SessionStatus.COMPLETED;
+        session.totalScore = completed.getTotalScore() != null ? completed.getTotalScore() : session.totalScore;
+        histogram.move(previous, session.scorePercentage());
+        session.lastActivity = completed.getUpdatedAt();
+        completedParticipants++;
+        completedPercentageSum += session.scorePercentage();
+        rank(completed.getId(), session);
+    }
+
+    public synchronized List<UserStatistics> getTopPerformers(int limit) {
+        List<Long> sessionIds = leaderboard.top(limit);
+        List<UserStatistics> statistics = new ArrayList<>(sessionIds.size());
+        sessionIds.forEach(sessionId -> statistics.add(sessions.get(sessionId).toStatistics()));
+        return statistics;
+    }
+
+    public synchronized Integer getRank(Long userId) {
+        return leaderboard.rankOf(userId);
+    }
+
+    public synchronized ScoreDistribution toScoreDistribution() {
+        return histogram.toDistribution(examId);
+    }
+
+    // Besides the exam totals, compares the same weighted sums the query computes, so a wrong per-question,
+    // per-answer or per-session counter is caught without loading every row.
+    public synchronized boolean matches(ExamStatisticsRow exam) {
+        double averageScore = completedParticipants > 0 ? completedPercentageSum / completedParticipants : 0.0;
+        if (sessions.size() != exam.getTotalParticipants()
+                || completedParticipants != exam.getCompletedParticipants()
+                || Math.abs(averageScore - exam.getAverageScore()) >= SCORE_TOLERANCE) {
+            return false;
+        }
+
+        long responseCount = 0;
+        long correctCount = 0;
+        long questionChecksum = 0;
+        long answerChecksum = 0;
+        for (Map.Entry<Long, QuestionCounters> entry : questions.entrySet()) {
+            QuestionCounters question = entry.getValue();
+            responseCount += question.total;
+            correctCount += question.correct;
+            questionChecksum += entry.getKey() * (question.total + question.correct);
+            for (Map.Entry<Long, AnswerCounters> answer : question.answers.entrySet()) {
+                answerChecksum += answer.getKey() * answer.getValue().picks;
+            }
+        }
+
+        long scoreChecksum = 0;
+        long sessionChecksum = 0;
+        for (Map.Entry<Long, SessionCounters> entry : sessions.entrySet()) {
+            scoreChecksum += entry.getValue().totalScore;
+            sessionChecksum += entry.getKey() * entry.getValue().answered;
+        }
+
+        return scoreChecksum == exam.getScoreChecksum()
+                && responseCount == exam.getResponseCount()
+                && correctCount == exam.getCorrectCount()
+                && questionChecksum == exam.getQuestionChecksum()
+                && answerChecksum == exam.getAnswerChecksum()
+                && sessionChecksum == exam.getSessionChecksum();
+    }
+
+    public synchronized ExamStatistics toExamStatistics() {
+        int participants = sessions.size();
+        return ExamStatistics.builder()
+                .examId(examId)
+                .examTitle(examTitle)
+                .totalParticipants(participants)
+                .completedParticipants(completedParticipants)
+                .averageScore(completedParticipants > 0 ? completedPercentageSum / completedParticipants : 0.0)
+                .completionRate(participants > 0 ? ((double) completedParticipants / participants) * 100 : 0.0)
+                .totalQuestions(questions.size())
+                .build();
+    }
+
+    public synchronized List<QuestionStatistics> toQuestionStatistics() {
+        List<QuestionStatistics> statistics = new ArrayList<>(questions.size());
+        questions.forEach((questionId, counters) -> statistics.add(counters.toStatistics(questionId)));
+        return statistics;
+    }
+
+    public synchronized List<UserStatistics> toUserStatistics() {
+        List<UserStatistics> statistics = new ArrayList<>(sessions.size());
+        sessions.values().forEach(counters -> {
+            if (counters.userId != null) {
+                statistics.add(counters.toStatistics());
+            }
+        });
+        return statistics;
+    }
+
+    public synchronized StatisticsResponse toStatisticsResponse() {
+        return StatisticsResponse.builder()
+                .examStatistics(toExamStatistics())
+                .questionStatistics(toQuestionStatistics())
+                .userStatistics(toUserStatistics())
+                .build();
+    }
+
+    private void track(Long sessionId, SessionCounters counters) {
+        sessions.put(sessionId, counters);
+        histogram.add(counters.scorePercentage());
+        rank(sessionId, counters);
+        if (counters.status == ExamSession.SessionStatus.COMPLETED) {
+            completedParticipants++;
+            completedPercentageSum += counters.scorePercentage();
+        }
+    }
+
+    private void rank(Long sessionId, SessionCounters counters) {
+        leaderboard.update(sessionId, counters.userId, counters.totalScore, counters.percentage(), counters.answered);
+    }
+
+    private void applyScoreDelta(SessionCounters session, int pointsDelta) {
+        if (pointsDelta == 0) {
+            return;
+        }
+
+        double previous = session.scorePercentage();
+        session.totalScore += pointsDelta;
+        histogram.move(previous, session.scorePercentage());
+        if (session.status == ExamSession.SessionStatus.COMPLETED) {
+            completedPercentageSum += session.scorePercentage() - previous;
+        }
+    }
+
+    private static final class QuestionCounters {
+        private final String questionText;
+        private final Map<Long, AnswerCounters> answers = new LinkedHashMap<>();
+        private int total;
+        private int correct;
+
+        private QuestionCounters(QuestionStatisticsRow row) {
+            this.questionText = row.getQuestionText();
+            this.total = row.getTotalResponses() != null ? row.getTotalResponses().intValue() : 0;
+            this.correct = row.getCorrectResponses() != null ? row.getCorrectResponses().intValue() : 0;
+        }
+
+        private QuestionStatistics toStatistics(Long questionId) {
+            return QuestionStatistics.builder()
+                    .questionId(questionId)
+                    .questionText(questionText)
+                    .totalResponses(total)
+                    .correctResponses(correct)
+                    .correctPercentage(total > 0 ? ((double) correct / total) * 100 : 0.0)
+                    .isMostDifficult(false)
+                    .isMostCorrect(false)
+                    .answerDistribution(answers.isEmpty() ? null : toAnswerStatistics())
+                    .build();
+        }
+
+        private List<AnswerStatistics> toAnswerStatistics() {
+            List<AnswerStatistics> statistics = new ArrayList<>(answers.size());
+            answers.forEach((answerId, counters) -> statistics.add(AnswerStatistics.builder()
+                    .answerId(answerId)
+                    .answerText(counters.answerText)
+                    .isCorrect(counters.isCorrect)
+                    .pickCount(counters.picks)
+                    .pickPercentage(total > 0 ? ((double) counters.picks / total) * 100 : 0.0)
+                    .build()));
+            return statistics;
+        }
+    }
+
+    private static final class AnswerCounters {
+        private final String answerText;
+        private final Boolean isCorrect;
+        private int picks;
+
+        private AnswerCounters(AnswerStatisticsRow row) {
+            this.answerText = row.getAnswerText();
+            this.isCorrect = row.getIsCorrect();
+            this.picks = row.getPickCount() != null ? row.getPickCount().intValue() : 0;
+        }
+    }
+
+    private static final class SessionCounters {
+        private final Long userId;
+        private final String username;
+        private final String fullName;
+        private final int maxScore;
+        private final LocalDateTime startedAt;
+        private ExamSession.SessionStatus status;
+        private int totalScore;
+        private int answered;
+        private int correct;
+        private LocalDateTime lastActivity;
+
+        private SessionCounters(ExamSession session, User user) {
+            this.userId = user != null ? user.getId() : null;
+            this.username = user != null ? user.getUsername() : null;
+            this.fullName = user != null ? user.getFullName() : null;
+            this.maxScore = session.getMaxScore() != null ? session.getMaxScore() : 0;
+            this.startedAt = session.getStartedAt();
+            this.status = session.getStatus();
+            this.totalScore = session.getTotalScore() != null ? session.getTotalScore() : 0;
+            this.lastActivity = session.getUpdatedAt();
+        }
+
+        private SessionCounters(SessionStatisticsRow row) {
+            this.userId = row.getUsername() != null ? row.getUserId() : null;
+            this.username = row.getUsername();
+            this.fullName = row.getFullName();
+            this.maxScore = row.getMaxScore() != null ? row.getMaxScore() : 0;
+            this.startedAt = row.getStartedAt();
+            this.status = row.getStatus();
+            this.totalScore = row.getTotalScore() != null ? row.getTotalScore() : 0;
+            this.answered = row.getQuestionsAnswered() != null ? row.getQuestionsAnswered().intValue() : 0;
+            this.correct = row.getCorrectAnswers() != null ? row.getCorrectAnswers().intValue() : 0;
+            this.lastActivity = row.getUpdatedAt();
+        }
+
+        private double scorePercentage() {
+            return maxScore > 0 ? ((double) totalScore / maxScore) * 100 : 0.0;
+        }
+
+        private double percentage() {
+            return answered > 0 ? ((double) correct / answered) * 100 : 0.0;
+        }
+
+        private UserStatistics toStatistics() {
+            return UserStatistics.builder()
+                    .userId(userId)
+                    .username(username)
+                    .fullName(fullName)
+                    .questionsAnswered(answered)
+                    .correctAnswers(correct)
+                    .currentPercentage(percentage())
+                    .totalScore(totalScore)
+                    .maxScore(maxScore)
+                    .status(status != null ? status.name() : null)
+                    .startedAt(startedAt)
+                    .lastActivity(lastActivity)
+                    .build();
+        }
+    }
+}
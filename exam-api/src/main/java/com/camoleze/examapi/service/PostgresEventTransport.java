@@ -0,0 +1,309 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.ExamEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import reactor.util.retry.Retry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+@ConditionalOnProperty(name = "exam.events.transport", havingValue = "postgres")
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresEventTransport {
+
+    private static final String CHANNEL_PREFIX = "exam_events_";
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final ExamEventRouter examEventRouter;
+    private final StatisticsAggregator statisticsAggregator;
+    private final ObjectMapper objectMapper;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicReference<PostgresqlConnection> connection = new AtomicReference<>();
+
+    private final AtomicLong notificationsSent = new AtomicLong();
+    private final AtomicLong eventsReceived = new AtomicLong();
+    private final AtomicLong echoesSuppressed = new AtomicLong();
+    private final AtomicLong eventsDropped = new AtomicLong();
+    private final AtomicLong eventsTruncated = new AtomicLong();
+
+    private Sinks.Many<ExamEvent> outbound;
+    private Disposable listener;
+    private Disposable sender;
+
+    @Value("${spring.r2dbc.url}")
+    private String url;
+
+    @Value("${spring.r2dbc.username}")
+    private String username;
+
+    @Value("${spring.r2dbc.password}")
+    private String password;
+
+    @Value("${exam.events.partitions:8}")
+    private int partitions;
+
+    @Value("${exam.events.batch-size:100}")
+    private int batchSize;
+
+    @Value("${exam.events.batch-window-ms:50}")
+    private long batchWindowMs;
+
+    @Value("${exam.events.outbound-capacity:10000}")
+    private int outboundCapacity;
+
+    @PostConstruct
+    public void start() {
+        log.info("Starting PostgreSQL event transport for node {} on {} partitions", nodeId, partitions);
+
+        outbound = Sinks.many().unicast().onBackpressureBuffer(Queues.<ExamEvent>get(outboundCapacity).get());
+
+        listener = createConnectionFactory().create()
+                .flatMapMany(conn -> {
+                    connection.set(conn);
+                    return Flux.range(0, partitions)
+                            .concatMap(partition -> conn.createStatement("LISTEN " + channel(partition)).execute()
+                                    .flatMap(PostgresqlResult::getRowsUpdated))
+                            .thenMany(conn.getNotifications())
+                            .doFinally(signal -> {
+                                connection.compareAndSet(conn, null);
+                                conn.close().subscribe();
+                            });
+                })
+                // The server can also end the notification stream without an error, e.g. on a clean shutdown.
+                .repeatWhen(completions -> completions
+                        .doOnNext(completed -> log.warn("Event transport connection closed, reconnecting"))
+                        .delayElements(Duration.ofSeconds(1)))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Event transport connection lost, reconnecting: {}",
+                                signal.failure().getMessage())))
+                .subscribe(this::receive);
+
+        sender = outbound.asFlux()
+                .bufferTimeout(batchSize, Duration.ofMillis(batchWindowMs))
+                .concatMap(batch -> send(batch)
+                        .onErrorResume(error -> {
+                            log.error("Failed to relay {} exam events: {}", batch.size(), error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+
+        examEventRouter.addRelay(this::enqueue);
+    }
+
+    @PreDestroy
+    public void stop() {
+        outbound.tryEmitComplete();
+        if (sender != null) {
+            sender.dispose();
+        }
+        if (listener != null) {
+            listener.dispose();
+        }
+    }
+
+    public long getNotificationsSent() {
+        return notificationsSent.get();
+    }
+
+    public long getEventsReceived() {
+        return eventsReceived.get();
+    }
+
+    public long getEchoesSuppressed() {
+        return echoesSuppressed.get();
+    }
+
+    public long getEventsDropped() {
+        return eventsDropped.get();
+    }
+
+    public long getEventsTruncated() {
+        return eventsTruncated.get();
+    }
+
+    // When the relay falls behind by more than the outbound capacity, new events are dropped for other
+    // nodes only; local subscribers already received them.
+    private synchronized void enqueue(ExamEvent event) {
+        if (event.getExamId() != null && outbound.tryEmitNext(event).isFailure()
+                && eventsDropped.incrementAndGet() % 1000 == 1) {
+            log.warn("Event transport outbound buffer is full, {} exam events dropped so far", eventsDropped.get());
+        }
+    }
+
+    private Mono<Void> send(List<ExamEvent> batch) {
+        PostgresqlConnection conn = connection.get();
+        if (conn == null) {
+            log.warn("Event transport not connected, dropping {} exam events", batch.size());
+            return Mono.empty();
+        }
+
+        Map<Integer, List<String>> byPartition = new TreeMap<>();
+        for (ExamEvent event : batch) {
+            try {
+                String encoded = encode(event);
+                if (encoded != null) {
+                    byPartition.computeIfAbsent(partition(event.getExamId()), partition -> new ArrayList<>())
+                            .add(encoded);
+                }
+            } catch (JsonProcessingException e) {
+                log.error("Failed to serialize {} event for exam {}", event.getType(), event.getExamId(), e);
+            }
+        }
+
+        // Each notification fails on its own, so one rejected payload does not drop the rest of the batch.
+        return Flux.fromIterable(byPartition.entrySet())
+                .concatMap(entry -> Flux.fromIterable(toPayloads(entry.getValue()))
+                        .concatMap(payload -> conn.createStatement("SELECT pg_notify($1, $2)")
+                                .bind("$1", channel(entry.getKey()))
+                                .bind("$2", payload)
+                                .execute()
+                                .flatMap(PostgresqlResult::getRowsUpdated)
+                                .doOnComplete(notificationsSent::incrementAndGet)
+                                .onErrorResume(error -> {
+                                    log.error("Failed to notify {}: {}", channel(entry.getKey()), error.getMessage());
+                                    return Mono.empty();
+                                })))
+                .then();
+    }
+
+    // An event that cannot fit in one notification is relayed without its data; other nodes get the event
+    // type and must fetch the details through the API. Returns null when even that does not fit.
+    private String encode(ExamEvent event) throws JsonProcessingException {
+        String encoded = objectMapper.writeValueAsString(event);
+        if (fits(encoded)) {
+            return encoded;
+        }
+
+        eventsTruncated.incrementAndGet();
+        String stub = objectMapper.writeValueAsString(ExamEvent.builder()
+                .type(event.getType())
+                .examId(event.getExamId())
+                .userId(event.getUserId())
+                .timestamp(event.getTimestamp())
+                .build());
+        if (fits(stub)) {
+            log.debug("Relaying {} event for exam {} without its data", event.getType(), event.getExamId());
+            return stub;
+        }
+
+        log.warn("Skipping {} event for exam {} that does not fit in a notification", event.getType(),
+                event.getExamId());
+        return null;
+    }
+
+    private boolean fits(String event) {
+        return headerSize() + event.getBytes(StandardCharsets.UTF_8).length + 1 <= MAX_PAYLOAD_BYTES;
+    }
+
+    private String header() {
+        return "{\"node\":\"" + nodeId + "\",\"events\":[";
+    }
+
+    private int headerSize() {
+        return header().getBytes(StandardCharsets.UTF_8).length + 2;
+    }
+
+    // NOTIFY payloads are capped at 8000 bytes, so large batches are split into several notifications.
+    private List<String> toPayloads(List<String> events) {
+        List<String> payloads = new ArrayList<>();
+        String header = header();
+        int headerSize = headerSize();
+        StringBuilder payload = new StringBuilder(header);
+        int size = headerSize;
+        int count = 0;
+
+        for (String event : events) {
+            int eventSize = event.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (count > 0 && size + eventSize > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.append("]}").toString());
+                payload = new StringBuilder(header);
+                size = headerSize;
+                count = 0;
+            }
+            if (count > 0) {
+                payload.append(',');
+            }
+            payload.append(event);
+            size += eventSize;
+            count++;
+        }
+
+        if (count > 0) {
+            payloads.add(payload.append("]}").toString());
+        }
+        return payloads;
+    }
+
+    private void receive(Notification notification) {
+        String payload = notification.getParameter();
+        if (payload == null) {
+            return;
+        }
+
+        try {
+            JsonNode message = objectMapper.readTree(payload);
+            if (nodeId.equals(message.path("node").asText())) {
+                echoesSuppressed.incrementAndGet();
+                return;
+            }
+
+            for (JsonNode node : message.path("events")) {
+                ExamEvent event = objectMapper.treeToValue(node, ExamEvent.class);
+                event.setEpoch(null);
+                event.setSequence(null);
+                eventsReceived.incrementAndGet();
+                examEventRouter.dispatch(event);
+                statisticsAggregator.onRemoteEvent(event);
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Discarding malformed notification on {}: {}", notification.getName(), e.getMessage());
+        }
+    }
+
+    private PostgresqlConnectionFactory createConnectionFactory() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url)
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        return (PostgresqlConnectionFactory) ConnectionFactories.get(options);
+    }
+
+    private int partition(Long examId) {
+        return (int) Math.floorMod(examId, (long) partitions);
+    }
+
+    private String channel(int partition) {
+        return CHANNEL_PREFIX + partition;
+    }
+}
@@ -0,0 +1,50 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.ExamEvent;
+import com.camoleze.examapi.dto.QuestionRanking;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QuestionRankingPublisher {
+
+    private final StatisticsService statisticsService;
+    private final StatisticsUpdateCoalescer statisticsUpdateCoalescer;
+
+    // Keyed by exam and limit so the difficult and correct streams of one dashboard share a ranking.
+    private final SharedStreams<List<Long>, QuestionRanking> publishers = new SharedStreams<>(this::createPublisher);
+    private final AtomicLong computations = new AtomicLong();
+
+    public Flux<QuestionRanking> getRanking(Long examId, int limit) {
+        return publishers.get(List.of(examId, (long) limit));
+    }
+
+    public int getActivePublisherCount() {
+        return publishers.size();
+    }
+
+    public long getComputationCount() {
+        return computations.get();
+    }
+
+    private Flux<QuestionRanking> createPublisher(List<Long> key) {
+        Long examId = key.get(0);
+        int limit = key.get(1).intValue();
+
+        return statisticsUpdateCoalescer.updates(examId)
+                .map(ExamEvent::getType)
+                .startWith(ExamEvent.ExamEventType.STATISTICS_UPDATED)
+                .concatMap(trigger -> statisticsService.getQuestionRanking(examId, limit)
+                        .doOnNext(ranking -> computations.incrementAndGet()))
+                .doFinally(signal -> log.debug("Stopping question ranking publisher for exam {}", examId))
+                .replay(1)
+                .refCount();
+    }
+}
@@ -0,0 +1,136 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.model.ExamSession;
+import com.camoleze.examapi.model.ResponseUpsertRow;
+import com.camoleze.examapi.repository.ExamSessionRepository;
+import com.camoleze.examapi.repository.UserResponseRepository;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ResponseBatchWriter {
+
+    // Same statement as UserResponseRepository.upsertAndScore, over a whole batch of responses.
+    private static final String UPSERT_SQL = """
+            WITH input AS (
+                SELECT *
+                FROM UNNEST(:sessionIds::bigint[], :questionIds::bigint[], :answerIds::bigint[],
+                            :responseTexts::text[], :correct::boolean[], :points::integer[])
+                     AS t(session_id, question_id, answer_id, response_text, is_correct, points_earned)
+            ),
+            previous AS (
+                SELECT ur.session_id, ur.question_id, ur.answer_id, ur.is_correct, ur.points_earned
+                FROM user_responses ur
+                JOIN input i ON i.session_id = ur.session_id AND i.question_id = ur.question_id
+                FOR UPDATE OF ur
+            ),
+            upserted AS (
+                INSERT INTO user_responses (session_id, question_id, answer_id, response_text, is_correct, points_earned)
+                SELECT session_id, question_id, answer_id, response_text, is_correct, points_earned
+                FROM input
+                ON CONFLICT (session_id, question_id) DO UPDATE
+                    SET answer_id = EXCLUDED.answer_id,
+                        response_text = EXCLUDED.response_text,
+                        is_correct = EXCLUDED.is_correct,
+                        points_earned = EXCLUDED.points_earned
+                RETURNING id, session_id, question_id, responded_at, is_correct, points_earned
+            ),
+            changes AS (
+                SELECT u.id, u.session_id, u.question_id, u.responded_at, u.is_correct, u.points_earned,
+                       p.session_id IS NOT NULL AS existed,
+                       p.answer_id AS previous_answer_id,
+                       COALESCE(p.is_correct, FALSE) AS was_correct,
+                       COALESCE(p.points_earned, 0) AS previous_points
+                FROM upserted u
+                LEFT JOIN previous p ON p.session_id = u.session_id AND p.question_id = u.question_id
+            ),
+            scored AS (
+                UPDATE exam_sessions es
+                SET total_score = es.total_score + d.delta,
+                    updated_at = CURRENT_TIMESTAMP
+                FROM (SELECT session_id, SUM(points_earned - previous_points) AS delta
+                      FROM changes
+                      GROUP BY session_id) d
+                WHERE es.id = d.session_id
+                RETURNING es.id, es.total_score
+            )
+            SELECT c.*, s.total_score
+            FROM changes c
+            JOIN scored s ON s.id = c.session_id
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final ExamSessionRepository examSessionRepository;
+    private final UserResponseRepository userResponseRepository;
+
+    /**
+     * Writes one response and applies its score delta while holding the session row lock.
+     */
+    @Transactional
+    public Mono<ResponseUpsertRow> write(ResponseWrite write) {
+        return examSessionRepository.lockByIds(List.of(write.getSessionId()))
+                .then(userResponseRepository.upsertAndScore(write.getSessionId(), write.getQuestionId(),
+                        write.getAnswerId(), write.getResponseText(), write.isCorrect(), write.getPoints()));
+    }
+
+    /**
+     * Writes the responses and applies the score delta of each session in one statement. At most one
+     * write per session and question is allowed, since ON CONFLICT cannot touch a row twice.
+     */
+    @Transactional
+    public Mono<List<ResponseUpsertRow>> write(List<ResponseWrite> writes) {
+        // The data-modifying CTEs read one snapshot; locking the sessions first, in id order, makes that
+        // snapshot include any concurrent write to the same responses and keeps batches from deadlocking.
+        return examSessionRepository.lockByIds(writes.stream().map(ResponseWrite::getSessionId).distinct().toList())
+                .then(upsert(writes));
+    }
+
+    /**
+     * Recomputes every session score of the exam from its responses and returns the corrected sessions.
+     * The sessions are locked first, in the same id order as the writes, so no response written
+     * meanwhile is overwritten with a stale sum.
+     */
+    @Transactional
+    public Flux<ExamSession> recomputeScores(Long examId) {
+        return examSessionRepository.lockByExamId(examId)
+                .thenMany(examSessionRepository.recomputeScoresByExamId(examId));
+    }
+
+    private Mono<List<ResponseUpsertRow>> upsert(List<ResponseWrite> writes) {
+        return databaseClient.sql(UPSERT_SQL)
+                .bind("sessionIds", writes.stream().map(ResponseWrite::getSessionId).toArray(Long[]::new))
+                .bind("questionIds", writes.stream().map(ResponseWrite::getQuestionId).toArray(Long[]::new))
+                .bind("answerIds", writes.stream().map(ResponseWrite::getAnswerId).toArray(Long[]::new))
+                .bind("responseTexts", writes.stream().map(ResponseWrite::getResponseText).toArray(String[]::new))
+                .bind("correct", writes.stream().map(ResponseWrite::isCorrect).toArray(Boolean[]::new))
+                .bind("points", writes.stream().map(ResponseWrite::getPoints).toArray(Integer[]::new))
+                .map((row, metadata) -> toResult(row))
+                .all()
+                .collectList();
+    }
+
+    private ResponseUpsertRow toResult(Row row) {
+        return ResponseUpsertRow.builder()
+                .responseId(row.get("id", Long.class))
+                .sessionId(row.get("session_id", Long.class))
+                .questionId(row.get("question_id", Long.class))
+                .respondedAt(row.get("responded_at", LocalDateTime.class))
+                .isCorrect(row.get("is_correct", Boolean.class))
+                .pointsEarned(row.get("points_earned", Integer.class))
+                .existed(row.get("existed", Boolean.class))
+                .previousAnswerId(row.get("previous_answer_id", Long.class))
+                .wasCorrect(row.get("was_correct", Boolean.class))
+                .previousPoints(row.get("previous_points", Integer.class))
+                .totalScore(row.get("total_score", Integer.class))
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package com.camoleze.examapi.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ResponseWrite {
+    private final Long sessionId;
+    private final Long questionId;
+    private final Long answerId;
+    private final String responseText;
+    private final boolean isCorrect;
+    private final int points;
+}
@@ -0,0 +1,75 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.ScoreBucket;
+import com.camoleze.examapi.dto.ScoreDistribution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-width histogram of session score percentages. Not thread-safe; {@link LiveExamStatistics}
+ * guards every access.
+ */
+public class ScoreHistogram {
+
+    private static final int BUCKETS = 10;
+    private static final double BUCKET_WIDTH = 100.0 / BUCKETS;
+
+    private final int[] counts = new int[BUCKETS];
+    private int total;
+
+    public void add(double percentage) {
+        counts[bucket(percentage)]++;
+        total++;
+    }
+
+    public void move(double from, double to) {
+        int source = bucket(from);
+        int target = bucket(to);
+        if (source != target) {
+            counts[source]--;
+            counts[target]++;
+        }
+    }
+
+    // Interpolates linearly inside the bucket that holds the requested rank.
+    public double percentile(double percentile) {
+        if (total == 0) {
+            return 0.0;
+        }
+
+        double rank = percentile / 100 * total;
+        int cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] > 0 && cumulative + counts[i] >= rank) {
+                return i * BUCKET_WIDTH + (rank - cumulative) / counts[i] * BUCKET_WIDTH;
+            }
+            cumulative += counts[i];
+        }
+        return 100.0;
+    }
+
+    public ScoreDistribution toDistribution(Long examId) {
+        List<ScoreBucket> buckets = new ArrayList<>(BUCKETS);
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.add(ScoreBucket.builder()
+                    .lowerBound(i * BUCKET_WIDTH)
+                    .upperBound((i + 1) * BUCKET_WIDTH)
+                    .count(counts[i])
+                    .build());
+        }
+
+        return ScoreDistribution.builder()
+                .examId(examId)
+                .totalSessions(total)
+                .buckets(buckets)
+                .median(percentile(50))
+                .p75(percentile(75))
+                .p90(percentile(90))
+                .build();
+    }
+
+    private int bucket(double percentage) {
+        return Math.min(BUCKETS - 1, Math.max(0, (int) (percentage / BUCKET_WIDTH)));
+    }
+}
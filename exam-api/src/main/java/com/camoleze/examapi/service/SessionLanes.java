@@ -0,0 +1,130 @@
+package com.camoleze.examapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs the mutations of one session strictly one after another. Sessions are hashed onto a fixed
+ * set of lanes; each lane executes its tasks in arrival order while other lanes run in parallel.
+ * A task that outlives the lane timeout fails with a {@link java.util.concurrent.TimeoutException}
+ * and releases its lane, so one hung query cannot stall the other sessions hashed onto it.
+ */
+@Component
+@Slf4j
+public class SessionLanes {
+
+    private final List<Lane> lanes;
+    private final Duration taskTimeout;
+
+    private final AtomicLong tasks = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    public SessionLanes(
+            @Value("${exam.sessions.lanes:64}") int laneCount,
+            @Value("${exam.sessions.lane-timeout-ms:10000}") long taskTimeoutMs
+    ) {
+        this.taskTimeout = Duration.ofMillis(taskTimeoutMs);
+        this.lanes = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            lanes.add(new Lane());
+        }
+    }
+
+    public <T> Mono<T> run(Long sessionId, Supplier<Mono<T>> action) {
+        return Mono.defer(() -> {
+            Lane lane = lanes.get(Math.floorMod(Long.hashCode(sessionId), lanes.size()));
+            Sinks.One<T> result = Sinks.one();
+            long enqueuedAt = System.nanoTime();
+
+            Mono<Void> task = Mono.defer(() -> {
+                        recordWait(System.nanoTime() - enqueuedAt);
+                        return Mono.defer(action)
+                                .timeout(taskTimeout)
+                                .doOnError(TimeoutException.class, error -> {
+                                    timeouts.incrementAndGet();
+                                    log.warn("Task of session {} exceeded the lane timeout of {} ms", sessionId,
+                                            taskTimeout.toMillis());
+                                });
+                    })
+                    .doOnNext(result::tryEmitValue)
+                    .doOnError(result::tryEmitError)
+                    .doOnSuccess(value -> {
+                        if (value == null) {
+                            result.tryEmitEmpty();
+                        }
+                    })
+                    .then()
+                    .onErrorResume(error -> Mono.empty());
+
+            if (!lane.submit(task)) {
+                return Mono.error(new IllegalStateException("Session lane is not accepting work"));
+            }
+            return result.asMono();
+        });
+    }
+
+    public int getLaneCount() {
+        return lanes.size();
+    }
+
+    public List<Integer> getQueueDepths() {
+        return lanes.stream().map(lane -> lane.depth.get()).toList();
+    }
+
+    public int getMaxQueueDepth() {
+        return lanes.stream().mapToInt(lane -> lane.depth.get()).max().orElse(0);
+    }
+
+    public double getAverageWaitMillis() {
+        long count = tasks.get();
+        return count > 0 ? TimeUnit.NANOSECONDS.toMicros(waitNanos.get() / count) / 1000.0 : 0.0;
+    }
+
+    public double getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()) / 1000.0;
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.get();
+    }
+
+    private void recordWait(long nanos) {
+        tasks.incrementAndGet();
+        waitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static final class Lane {
+        private final Sinks.Many<Mono<Void>> queue = Sinks.many().unicast().onBackpressureBuffer();
+        private final AtomicInteger depth = new AtomicInteger();
+
+        private Lane() {
+            queue.asFlux()
+                    .concatMap(task -> task.doFinally(signal -> depth.decrementAndGet()))
+                    .subscribe();
+        }
+
+        private synchronized boolean submit(Mono<Void> task) {
+            depth.incrementAndGet();
+            if (queue.tryEmitNext(task).isFailure()) {
+                depth.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.camoleze.examapi.service;
+
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Keeps one shared pipeline per key. Subscribers are counted under the map lock, so a pipeline is dropped
+ * only when its last subscriber leaves and a late subscriber never picks up an instance that is being
+ * torn down; if one resubscribes in between, the refCounted pipeline simply reconnects.
+ */
+final class SharedStreams<K, T> {
+
+    private final Map<K, Entry<T>> streams = new ConcurrentHashMap<>();
+    private final Function<K, Flux<T>> factory;
+
+    SharedStreams(Function<K, Flux<T>> factory) {
+        this.factory = factory;
+    }
+
+    Flux<T> get(K key) {
+        return Flux.defer(() -> {
+            Entry<T> entry = streams.compute(key, (k, current) -> {
+                Entry<T> target = current != null ? current : new Entry<>(factory.apply(k));
+                target.subscribers++;
+                return target;
+            });
+            return entry.flux.doFinally(signal -> release(key, entry));
+        });
+    }
+
+    int size() {
+        return streams.size();
+    }
+
+    private void release(K key, Entry<T> entry) {
+        streams.computeIfPresent(key, (k, current) ->
+                current != entry || --current.subscribers > 0 ? current : null);
+    }
+
+    private static final class Entry<T> {
+        private final Flux<T> flux;
+        // Only read and written inside the map's compute functions.
+        private int subscribers;
+
+        private Entry(Flux<T> flux) {
+            this.flux = flux;
+        }
+    }
+}
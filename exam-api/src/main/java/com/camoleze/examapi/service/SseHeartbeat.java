@@ -0,0 +1,83 @@
+package com.camoleze.examapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class SseHeartbeat {
+
+    private static final ServerSentEvent<Object> HEARTBEAT = ServerSentEvent.builder()
+            .comment("keep-alive")
+            .build();
+
+    private final Flux<Long> ticks;
+    private final int maxMissed;
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong staleClosed = new AtomicLong();
+
+    public SseHeartbeat(
+            @Value("${exam.stream.heartbeat-interval-ms:30000}") long intervalMs,
+            @Value("${exam.stream.heartbeat-max-missed:3}") int maxMissed
+    ) {
+        this.ticks = Flux.interval(Duration.ofMillis(intervalMs))
+                .onBackpressureDrop()
+                .share();
+        this.maxMissed = maxMissed;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Flux<ServerSentEvent<T>> withHeartbeat(Flux<ServerSentEvent<T>> events) {
+        return Flux.defer(() -> {
+            Sinks.One<Boolean> eventsDone = Sinks.one();
+            AtomicLong requested = new AtomicLong();
+            AtomicLong delivered = new AtomicLong();
+            AtomicInteger missed = new AtomicInteger();
+
+            // The writer only asks for more once earlier writes went out. A connection that has had no room
+            // for a heartbeat for several intervals is treated as half-open and failed, which closes it.
+            // Heartbeats also stop with the events, so a completed or failed stream closes the connection
+            // and the client reconnects with its Last-Event-ID.
+            Flux<ServerSentEvent<T>> heartbeats = ticks
+                    .<Long>handle((tick, sink) -> {
+                        if (requested.get() > delivered.get()) {
+                            missed.set(0);
+                        } else if (missed.incrementAndGet() >= maxMissed) {
+                            log.debug("Closing stale SSE connection after {} missed heartbeats", maxMissed);
+                            staleClosed.incrementAndGet();
+                            sink.error(new TimeoutException("SSE connection stopped accepting writes"));
+                            return;
+                        }
+                        sink.next(tick);
+                    })
+                    .onBackpressureDrop()
+                    .map(tick -> (ServerSentEvent<T>) (ServerSentEvent<?>) HEARTBEAT)
+                    .takeUntilOther(eventsDone.asMono());
+
+            return Flux.merge(1, events.doFinally(signal -> eventsDone.tryEmitValue(true)), heartbeats)
+                    .doOnNext(event -> delivered.incrementAndGet())
+                    .doOnRequest(n -> requested.accumulateAndGet(n,
+                            (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added))
+                    .doOnSubscribe(subscription -> connections.incrementAndGet())
+                    .doFinally(signal -> connections.decrementAndGet());
+        });
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    public long getStaleClosedCount() {
+        return staleClosed.get();
+    }
+}
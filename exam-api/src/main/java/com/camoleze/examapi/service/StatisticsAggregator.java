@@ -0,0 +1,197 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.ExamEvent;
+import com.camoleze.examapi.model.ExamSession;
+import com.camoleze.examapi.repository.AnswerRepository;
+import com.camoleze.examapi.repository.ExamRepository;
+import com.camoleze.examapi.repository.ExamSessionRepository;
+import com.camoleze.examapi.repository.QuestionRepository;
+import com.camoleze.examapi.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsAggregator {
+
+    private final ExamRepository examRepository;
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+    private final ExamSessionRepository examSessionRepository;
+    private final UserRepository userRepository;
+    private final ExamEventRouter examEventRouter;
+
+    private final Map<Long, LiveExamStatistics> aggregates = new ConcurrentHashMap<>();
+    private final Map<Long, Mono<LiveExamStatistics>> loading = new ConcurrentHashMap<>();
+    private final Set<Long> remoteRefreshes = ConcurrentHashMap.newKeySet();
+    private final AtomicLong driftCorrections = new AtomicLong();
+    private final AtomicLong remoteRefreshCount = new AtomicLong();
+
+    @Value("${exam.statistics.idle-eviction-ms:1800000}")
+    private long idleEvictionMs;
+
+    @Value("${exam.statistics.remote-refresh-delay-ms:250}")
+    private long remoteRefreshDelayMs;
+
+    public Mono<LiveExamStatistics> getStatistics(Long examId) {
+        LiveExamStatistics statistics = aggregates.get(examId);
+        if (statistics != null) {
+            statistics.touch();
+            return Mono.just(statistics);
+        }
+
+        return loading.computeIfAbsent(examId, id -> load(id)
+                .map(loaded -> {
+                    LiveExamStatistics existing = aggregates.putIfAbsent(id, loaded);
+                    return existing != null ? existing : loaded;
+                })
+                .doFinally(signal -> loading.remove(id))
+                .cache());
+    }
+
+    public Mono<Void> refresh(Long examId) {
+        return load(examId)
+                .doOnNext(fresh -> aggregates.put(examId, fresh))
+                .then();
+    }
+
+    public Mono<Void> onSessionStarted(ExamSession session) {
+        LiveExamStatistics statistics = aggregates.get(session.getExamId());
+        if (statistics == null) {
+            return Mono.empty();
+        }
+
+        return userRepository.findById(session.getUserId())
+                .doOnNext(user -> statistics.addSession(session, user))
+                .then();
+    }
+
+    public void onResponseRecorded(Long examId, Long sessionId, Long questionId, boolean existed,
+                                   boolean wasCorrect, boolean isCorrect, int pointsDelta) {
+        LiveExamStatistics statistics = aggregates.get(examId);
+        if (statistics != null) {
+            statistics.recordResponse(sessionId, questionId, existed, wasCorrect, isCorrect, pointsDelta);
+        }
+    }
+
+    public void onAnswerChanged(Long examId, Long questionId, Long previousAnswerId, Long answerId) {
+        LiveExamStatistics statistics = aggregates.get(examId);
+        if (statistics != null) {
+            statistics.changeAnswer(questionId, previousAnswerId, answerId);
+        }
+    }
+
+    public void onSessionCompleted(ExamSession session) {
+        LiveExamStatistics statistics = aggregates.get(session.getExamId());
+        if (statistics != null) {
+            statistics.completeSession(session);
+        }
+    }
+
+    /**
+     * Called for events relayed from another node. Their changes never reached the local aggregate, so it
+     * is reloaded once per delay window, and local subscribers are told when the reload is in place.
+     */
+    public void onRemoteEvent(ExamEvent event) {
+        Long examId = event.getExamId();
+        if (examId == null || !aggregates.containsKey(examId) || !remoteRefreshes.add(examId)) {
+            return;
+        }
+
+        // The exam leaves the set before the reload starts, so an event that arrives during the reload
+        // schedules another one instead of being lost.
+        Mono.delay(Duration.ofMillis(remoteRefreshDelayMs))
+                .then(Mono.defer(() -> {
+                    remoteRefreshes.remove(examId);
+                    return refresh(examId);
+                }))
+                .subscribe(
+                        ignored -> { },
+                        error -> log.error("Failed to refresh statistics for exam {}: {}", examId, error.getMessage()),
+                        () -> {
+                            remoteRefreshCount.incrementAndGet();
+                            notifyUpdated(examId);
+                        });
+    }
+
+    public int getAggregateCount() {
+        return aggregates.size();
+    }
+
+    public long getDriftCorrectionCount() {
+        return driftCorrections.get();
+    }
+
+    public long getRemoteRefreshCount() {
+        return remoteRefreshCount.get();
+    }
+
+    @Scheduled(fixedDelayString = "${exam.statistics.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        long now = System.currentTimeMillis();
+
+        Flux.fromIterable(new ArrayList<>(aggregates.values()))
+                .concatMap(current -> {
+                    if (now - current.getLastAccessedAt() > idleEvictionMs) {
+                        log.debug("Evicting idle statistics aggregate for exam {}", current.getExamId());
+                        aggregates.remove(current.getExamId(), current);
+                        return Mono.empty();
+                    }
+
+                    // One aggregate row carries the exam totals and checksums over every counter; the full reload
+                    // only runs when they disagree.
+                    return examRepository.findStatisticsById(current.getExamId())
+                            .filter(totals -> !current.matches(totals))
+                            .flatMap(totals -> load(current.getExamId()))
+                            .doOnNext(fresh -> {
+                                log.warn("Statistics aggregate for exam {} drifted from the database, replacing it",
+                                        current.getExamId());
+                                driftCorrections.incrementAndGet();
+                                fresh.touch();
+                                if (aggregates.replace(current.getExamId(), current, fresh)) {
+                                    notifyUpdated(current.getExamId());
+                                }
+                            })
+                            .onErrorResume(error -> {
+                                log.error("Failed to reconcile statistics for exam {}: {}",
+                                        current.getExamId(), error.getMessage());
+                                return Mono.empty();
+                            });
+                })
+                .subscribe();
+    }
+
+    // Dispatched locally only: every node keeps its own aggregates, so other nodes have nothing to reload.
+    private void notifyUpdated(Long examId) {
+        examEventRouter.dispatch(ExamEvent.builder()
+                .type(ExamEvent.ExamEventType.STATISTICS_UPDATED)
+                .examId(examId)
+                .data(null)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    // One grouped query per level: the exam, its questions, their answer options and its sessions with their users.
+    private Mono<LiveExamStatistics> load(Long examId) {
+        return examRepository.findStatisticsById(examId)
+                .flatMap(exam -> Mono.zip(
+                                questionRepository.findStatisticsByExamId(examId).collectList(),
+                                answerRepository.findStatisticsByExamId(examId).collectList(),
+                                examSessionRepository.findStatisticsByExamId(examId).collectList())
+                        .map(tuple -> new LiveExamStatistics(exam, tuple.getT1(), tuple.getT2(), tuple.getT3())));
+    }
+}
@@ -0,0 +1,52 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.ExamEvent;
+import com.camoleze.examapi.dto.StatisticsResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsPublisher {
+
+    private final StatisticsService statisticsService;
+    private final StatisticsUpdateCoalescer statisticsUpdateCoalescer;
+
+    private final SharedStreams<Long, StatisticsResponse> publishers = new SharedStreams<>(this::createPublisher);
+    private final AtomicLong computations = new AtomicLong();
+    private final AtomicLong deliveries = new AtomicLong();
+
+    public Flux<StatisticsResponse> getStatistics(Long examId) {
+        return publishers.get(examId)
+                .doOnNext(response -> deliveries.incrementAndGet());
+    }
+
+    public int getActivePublisherCount() {
+        return publishers.size();
+    }
+
+    public long getComputationCount() {
+        return computations.get();
+    }
+
+    public long getSavedComputationCount() {
+        return Math.max(0, deliveries.get() - computations.get());
+    }
+
+    private Flux<StatisticsResponse> createPublisher(Long examId) {
+        return statisticsUpdateCoalescer.updates(examId)
+                .map(ExamEvent::getType)
+                .startWith(ExamEvent.ExamEventType.STATISTICS_UPDATED)
+                .switchMap(trigger -> statisticsService.getStatistics(examId)
+                        .doOnNext(response -> computations.incrementAndGet()))
+                .distinctUntilChanged()
+                .doFinally(signal -> log.debug("Stopping statistics publisher for exam {}", examId))
+                .replay(1)
+                .refCount();
+    }
+}
@@ -1,199 +1,129 @@
 package com.camoleze.examapi.service;
 
 import com.camoleze.examapi.dto.*;
-import com.camoleze.examapi.model.ExamSession;
-import com.camoleze.examapi.model.Question;
-import com.camoleze.examapi.model.UserResponse;
-import com.camoleze.examapi.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class StatisticsService {
 
-    private final ExamRepository examRepository;
-    private final QuestionRepository questionRepository;
-    private final ExamSessionRepository examSessionRepository;
-    private final UserResponseRepository userResponseRepository;
-    private final UserRepository userRepository;
+    private final StatisticsAggregator statisticsAggregator;
+    private final ActiveSessionCache activeSessionCache;
+    private final AnswerKeyCache answerKeyCache;
 
     public Flux<StatisticsResponse> getStatistics(Long examId) {
-        return Mono.zip(
-                        getExamStatistics(examId),
-                        getQuestionStatistics(examId).collectList(),
-                        getUserStatistics(examId).collectList()
-                ).map(tuple -> StatisticsResponse.builder()
-                        .examStatistics(tuple.getT1())
-                        .questionStatistics(tuple.getT2())
-                        .userStatistics(tuple.getT3())
-                        .build())
+        return statisticsAggregator.getStatistics(examId)
+                .map(LiveExamStatistics::toStatisticsResponse)
                 .flux();
     }
 
-    private Mono<ExamStatistics> getExamStatistics(Long examId) {
-        return examRepository.findById(examId)
-                .flatMap(exam -> {
-                    Mono<Long> totalParticipants = examSessionRepository.countParticipantsByExamId(examId);
-                    Mono<Long> completedParticipants = examSessionRepository.countCompletedByExamId(examId);
-                    Mono<Long> totalQuestions = questionRepository.countByExamId(examId);
-                    Mono<Double> averageScore = calculateAverageScore(examId);
-
-                    return Mono.zip(totalParticipants, completedParticipants, totalQuestions, averageScore)
-                            .map(tuple -> {
-                                long total = tuple.getT1();
-                                Long completed = tuple.getT2();
-                                Double completionRate = total > 0 ? (completed.doubleValue() / total) * 100 : 0.0;
-
-                                return ExamStatistics.builder()
-                                        .examId(examId)
-                                        .examTitle(exam.getTitle())
-                                        .totalParticipants((int) total)
-                                        .completedParticipants(completed.intValue())
-                                        .averageScore(tuple.getT4())
-                                        .completionRate(completionRate)
-                                        .totalQuestions(tuple.getT3().intValue())
-                                        .build();
-                            });
-                });
+    public Flux<QuestionStatistics> getQuestionStatistics(Long examId) {
+        return statisticsAggregator.getStatistics(examId)
+                .flatMapIterable(LiveExamStatistics::toQuestionStatistics);
     }
 
-    private Mono<Double> calculateAverageScore(Long examId) {
-        return examSessionRepository.findByExamId(examId)
-                .filter(session -> session.getStatus().name().equals("COMPLETED"))
-                .filter(session -> session.getMaxScore() != null && session.getMaxScore() > 0)
-                .map(session -> (session.getTotalScore().doubleValue() / session.getMaxScore()) * 100)
-                .reduce(0.0, Double::sum)
-                .zipWith(examSessionRepository.countCompletedByExamId(examId))
-                .map(tuple -> {
-                    Double sum = tuple.getT1();
-                    Long count = tuple.getT2();
-                    return count > 0 ? sum / count : 0.0;
-                });
+    private Flux<UserStatistics> getUserStatistics(Long examId) {
+        return statisticsAggregator.getStatistics(examId)
+                .flatMapIterable(LiveExamStatistics::toUserStatistics);
     }
 
-    public Flux<QuestionStatistics> getQuestionStatistics(Long examId) {
-        return questionRepository.findByExamIdOrderByOrderIndex(examId)
-                .flatMap(this::buildQuestionStatistics);
+    public Flux<QuestionStatistics> getMostDifficultQuestions(Long examId, Integer limit) {
+        return getQuestionRanking(examId, limit != null ? limit : 5)
+                .flatMapIterable(QuestionRanking::getMostDifficult);
     }
 
-    private Mono<QuestionStatistics> buildQuestionStatistics(Question question) {
-        Mono<Long> totalResponses = userResponseRepository.countResponsesByExamIdAndQuestionId(
-                question.getExamId(), question.getId());
-        Mono<Long> correctResponses = userResponseRepository.countCorrectResponsesByExamIdAndQuestionId(
-                question.getExamId(), question.getId());
-
-        return Mono.zip(totalResponses, correctResponses)
-                .map(tuple -> {
-                    long total = tuple.getT1();
-                    Long correct = tuple.getT2();
-                    Double correctPercentage = total > 0 ? (correct.doubleValue() / total) * 100 : 0.0;
-
-                    return QuestionStatistics.builder()
-                            .questionId(question.getId())
-                            .questionText(question.getQuestionText())
-                            .totalResponses((int) total)
-                            .correctResponses(correct.intValue())
-                            .correctPercentage(correctPercentage)
-                            .isMostDifficult(false)
-                            .isMostCorrect(false)
-                            .build();
-                });
+    public Flux<QuestionStatistics> getMostCorrectQuestions(Long examId, Integer limit) {
+        return getQuestionRanking(examId, limit != null ? limit : 5)
+                .flatMapIterable(QuestionRanking::getMostCorrect);
     }
 
-    private Flux<UserStatistics> getUserStatistics(Long examId) {
-        return examSessionRepository.findByExamId(examId).flatMap(this::buildUserStatistics);
+    public Mono<QuestionRanking> getQuestionRanking(Long examId, int limit) {
+        return statisticsAggregator.getStatistics(examId)
+                .map(statistics -> rankQuestions(statistics.toQuestionStatistics(), limit));
     }
 
-    private Mono<UserStatistics> buildUserStatistics(ExamSession session) {
-        return userRepository.findById(session.getUserId()).flatMap(user -> {
-            Mono<Long> questionsAnswered = userResponseRepository.countResponsesBySessionId(session.getId());
-            Mono<Long> correctAnswers = userResponseRepository.findBySessionId(session.getId())
-                    .filter(UserResponse::getIsCorrect)
-                    .count();
-
-            return Mono.zip(questionsAnswered, correctAnswers)
-                    .map(tuple -> {
-                        long answered = tuple.getT1();
-                        Long correct = tuple.getT2();
-                        Double currentPercentage = answered > 0 ? (correct.doubleValue() / answered) * 100 : 0.0;
-
-                        return UserStatistics.builder()
-                                .userId(user.getId())
-                                .username(user.getUsername())
-                                .fullName(user.getFullName())
-                                .questionsAnswered((int) answered)
-                                .correctAnswers(correct.intValue())
-                                .currentPercentage(currentPercentage)
-                                .totalScore(session.getTotalScore())
-                                .maxScore(session.getMaxScore())
-                                .status(session.getStatus().name())
-                                .startedAt(session.getStartedAt())
-                                .lastActivity(session.getUpdatedAt())
-                                .build();
-                    });
-        });
+    private QuestionRanking rankQuestions(List<QuestionStatistics> questions, int limit) {
+        Comparator<QuestionStatistics> easiestFirst = Comparator
+                .comparing(QuestionStatistics::getCorrectPercentage).reversed()
+                .thenComparing(QuestionStatistics::getQuestionId);
+        Comparator<QuestionStatistics> hardestFirst = Comparator
+                .comparing(QuestionStatistics::getCorrectPercentage)
+                .thenComparing(QuestionStatistics::getQuestionId);
+
+        // Each heap keeps only the best `limit` candidates seen so far, with the weakest at its head.
+        PriorityQueue<QuestionStatistics> hardest = new PriorityQueue<>(hardestFirst.reversed());
+        PriorityQueue<QuestionStatistics> easiest = new PriorityQueue<>(easiestFirst.reversed());
+        if (limit > 0) {
+            for (QuestionStatistics question : questions) {
+                if (question.getTotalResponses() == 0) {
+                    continue;
+                }
+                offer(hardest, question, limit);
+                offer(easiest, question, limit);
+            }
+        }
+
+        return QuestionRanking.builder()
+                .mostDifficult(drain(hardest, hardestFirst, true, false))
+                .mostCorrect(drain(easiest, easiestFirst, false, true))
+                .build();
     }
 
-    public Flux<QuestionStatistics> getMostDifficultQuestions(Long examId, Integer limit) {
-        return getQuestionStatistics(examId)
-                .filter(stats -> stats.getTotalResponses() > 0)
-                .sort(Comparator.comparing(QuestionStatistics::getCorrectPercentage))
-                .take(limit != null ? limit : 5)
-                .map(stats -> QuestionStatistics.builder()
-                        .questionId(stats.getQuestionId())
-                        .questionText(stats.getQuestionText())
-                        .totalResponses(stats.getTotalResponses())
-                        .correctResponses(stats.getCorrectResponses())
-                        .correctPercentage(stats.getCorrectPercentage())
-                        .isMostDifficult(true)
-                        .isMostCorrect(false)
-                        .build());
+    private void offer(PriorityQueue<QuestionStatistics> heap, QuestionStatistics question, int limit) {
+        heap.offer(question);
+        if (heap.size() > limit) {
+            heap.poll();
+        }
     }
 
-    public Flux<QuestionStatistics> getMostCorrectQuestions(Long examId, Integer limit) {
-        return getQuestionStatistics(examId)
-                .filter(stats -> stats.getTotalResponses() > 0)
-                .sort(Comparator.comparing(QuestionStatistics::getCorrectPercentage).reversed())
-                .take(limit != null ? limit : 5)
-                .map(stats -> QuestionStatistics.builder()
-                        .questionId(stats.getQuestionId())
-                        .questionText(stats.getQuestionText())
-                        .totalResponses(stats.getTotalResponses())
-                        .correctResponses(stats.getCorrectResponses())
-                        .correctPercentage(stats.getCorrectPercentage())
-                        .isMostDifficult(false)
-                        .isMostCorrect(true)
-                        .build());
+    private List<QuestionStatistics> drain(PriorityQueue<QuestionStatistics> heap,
+                                           Comparator<QuestionStatistics> order,
+                                           boolean mostDifficult, boolean mostCorrect) {
+        List<QuestionStatistics> ranked = new ArrayList<>(heap.size());
+        heap.forEach(stats -> ranked.add(QuestionStatistics.builder()
+                .questionId(stats.getQuestionId())
+                .questionText(stats.getQuestionText())
+                .totalResponses(stats.getTotalResponses())
+                .correctResponses(stats.getCorrectResponses())
+                .correctPercentage(stats.getCorrectPercentage())
+                .isMostDifficult(mostDifficult)
+                .isMostCorrect(mostCorrect)
+                .build()));
+        ranked.sort(order);
+        return ranked;
     }
 
     public Flux<UserStatistics> getTopPerformers(Long examId, Integer limit) {
-        return getUserStatistics(examId)
-                .filter(stats -> stats.getQuestionsAnswered() > 0)
-                .sort(Comparator.comparing(UserStatistics::getTotalScore).reversed()
-                        .thenComparing(UserStatistics::getCurrentPercentage).reversed()
-                        .thenComparing(UserStatistics::getQuestionsAnswered).reversed())
-                .take(limit != null ? limit : 10);
+        return statisticsAggregator.getStatistics(examId)
+                .flatMapIterable(statistics -> statistics.getTopPerformers(limit != null ? limit : 10));
+    }
+
+    public Mono<Integer> getUserRank(Long examId, Long userId) {
+        return statisticsAggregator.getStatistics(examId)
+                .mapNotNull(statistics -> statistics.getRank(userId));
+    }
+
+    public Mono<ScoreDistribution> getScoreDistribution(Long examId) {
+        return statisticsAggregator.getStatistics(examId)
+                .map(LiveExamStatistics::toScoreDistribution);
     }
 
     public Mono<Double> getExamProgress(Long sessionId) {
-        return examSessionRepository.findById(sessionId)
-                .flatMap(session -> {
-                    Mono<Long> totalQuestions = questionRepository.countByExamId(session.getExamId());
-                    Mono<Long> answeredQuestions = userResponseRepository.countResponsesBySessionId(sessionId);
-
-                    return Mono.zip(totalQuestions, answeredQuestions)
-                            .map(tuple -> {
-                                long total = tuple.getT1();
-                                Long answered = tuple.getT2();
-                                return total > 0 ? (answered.doubleValue() / total) * 100 : 0.0;
-                            });
-                });
+        return activeSessionCache.getSession(sessionId)
+                .flatMap(session -> answerKeyCache.getAnswerKey(session.getExamId())
+                        .map(answerKey -> {
+                            int total = answerKey.getQuestionCount();
+                            return total > 0 ? ((double) session.getAnswered() / total) * 100 : 0.0;
+                        }));
     }
-}
\ No newline at end of file
+}
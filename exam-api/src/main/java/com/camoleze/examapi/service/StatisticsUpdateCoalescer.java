@@ -0,0 +1,41 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.ExamEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatisticsUpdateCoalescer {
+
+    private final ExamEventRouter examEventRouter;
+
+    private final SharedStreams<Long, ExamEvent> updates = new SharedStreams<>(this::createUpdates);
+
+    @Value("${exam.statistics.coalesce-window-ms:250}")
+    private long coalesceWindowMs;
+
+    public Flux<ExamEvent> updates(Long examId) {
+        return updates.get(examId);
+    }
+
+    public int getActiveExamCount() {
+        return updates.size();
+    }
+
+    private Flux<ExamEvent> createUpdates(Long examId) {
+        return examEventRouter.subscribe(examId)
+                .filter(event -> event.getType() == ExamEvent.ExamEventType.STATISTICS_UPDATED
+                        || event.getType() == ExamEvent.ExamEventType.ANSWERS_SUBMITTED)
+                .sample(Duration.ofMillis(coalesceWindowMs))
+                .doFinally(signal -> log.debug("Stopping statistics updates for exam {}", examId))
+                .publish()
+                .refCount();
+    }
+}
@@ -0,0 +1,80 @@
+package com.camoleze.examapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class StreamDeliveryManager {
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong disconnected = new AtomicLong();
+
+    @Value("${exam.stream.statistics.policy:LATEST}")
+    private DeliveryPolicy statisticsPolicy;
+
+    @Value("${exam.stream.rankings.policy:LATEST}")
+    private DeliveryPolicy rankingsPolicy;
+
+    @Value("${exam.stream.activity.policy:DISCONNECT}")
+    private DeliveryPolicy activityPolicy;
+
+    @Value("${exam.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${exam.stream.max-dropped:64}")
+    private int maxDropped;
+
+    public <T> Flux<T> statistics(Flux<T> source) {
+        return apply(source, statisticsPolicy);
+    }
+
+    public <T> Flux<T> rankings(Flux<T> source) {
+        return apply(source, rankingsPolicy);
+    }
+
+    public <T> Flux<T> activity(Flux<T> source) {
+        return apply(source, activityPolicy);
+    }
+
+    public <T> Flux<T> apply(Flux<T> source, DeliveryPolicy policy) {
+        return switch (policy) {
+            case LATEST -> source.onBackpressureBuffer(1, value -> dropped.incrementAndGet(), BufferOverflowStrategy.DROP_OLDEST);
+            case DROP_OLDEST -> source.onBackpressureBuffer(bufferSize, value -> evicted.incrementAndGet(), BufferOverflowStrategy.DROP_OLDEST);
+            case DISCONNECT -> Flux.defer(() -> {
+                AtomicInteger subscriberDropped = new AtomicInteger();
+                Sinks.One<Boolean> overflow = Sinks.one();
+
+                return source.onBackpressureBuffer(bufferSize, value -> {
+                            evicted.incrementAndGet();
+                            if (subscriberDropped.incrementAndGet() == maxDropped) {
+                                log.warn("Disconnecting slow subscriber after {} dropped events", maxDropped);
+                                disconnected.incrementAndGet();
+                                overflow.tryEmitValue(true);
+                            }
+                        }, BufferOverflowStrategy.DROP_OLDEST)
+                        .takeUntilOther(overflow.asMono());
+            });
+        };
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getEvictedCount() {
+        return evicted.get();
+    }
+
+    public long getDisconnectedCount() {
+        return disconnected.get();
+    }
+}
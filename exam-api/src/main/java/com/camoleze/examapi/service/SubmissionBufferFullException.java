@@ -0,0 +1,8 @@
+package com.camoleze.examapi.service;
+
+public class SubmissionBufferFullException extends RuntimeException {
+
+    public SubmissionBufferFullException() {
+        super("Servidor sobrecarregado, tente enviar a resposta novamente");
+    }
+}
@@ -0,0 +1,226 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.model.ResponseUpsertRow;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "exam.submissions.mode", havingValue = "write-behind")
+@Slf4j
+public class SubmissionWriteBehind {
+
+    private final ResponseBatchWriter responseBatchWriter;
+    private final int bufferCapacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long shutdownTimeoutMs;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong superseded = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong flushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    // The last response queued by each session; the queue is flushed in order, so once it is flushed
+    // every earlier response of the session is too.
+    private final Map<Long, PendingResponse> lastBySession = new ConcurrentHashMap<>();
+    private final Sinks.Empty<Void> drained = Sinks.empty();
+    private Sinks.Many<PendingResponse> inbound;
+
+    public SubmissionWriteBehind(
+            ResponseBatchWriter responseBatchWriter,
+            @Value("${exam.submissions.buffer-capacity:10000}") int bufferCapacity,
+            @Value("${exam.submissions.batch-size:500}") int batchSize,
+            @Value("${exam.submissions.flush-interval-ms:20}") long flushIntervalMs,
+            @Value("${exam.submissions.shutdown-timeout-ms:10000}") long shutdownTimeoutMs
+    ) {
+        this.responseBatchWriter = responseBatchWriter;
+        this.bufferCapacity = bufferCapacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        log.info("Starting write-behind submissions with batches of {} every {} ms", batchSize, flushIntervalMs);
+
+        inbound = Sinks.many().unicast().onBackpressureBuffer(Queues.<PendingResponse>get(bufferCapacity).get());
+        inbound.asFlux()
+                .bufferTimeout(batchSize, Duration.ofMillis(flushIntervalMs), true)
+                .concatMap(this::flush)
+                .doFinally(signal -> drained.tryEmitEmpty())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        log.info("Flushing {} pending submissions before shutdown", pending.get());
+        synchronized (this) {
+            inbound.tryEmitComplete();
+        }
+
+        try {
+            drained.asMono().block(Duration.ofMillis(shutdownTimeoutMs));
+        } catch (IllegalStateException e) {
+            log.warn("Gave up waiting for {} pending submissions after {} ms", pending.get(), shutdownTimeoutMs);
+        }
+    }
+
+    /**
+     * Queues the response right away, throwing when the buffer is full, and returns a Mono that completes
+     * once it is durable: with the stored row, or empty when a later submission for the same question in
+     * the same batch replaced it.
+     */
+    public Mono<ResponseUpsertRow> submit(Long sessionId, Long questionId, Long answerId, String responseText,
+                                          boolean isCorrect, int points) {
+        PendingResponse response = new PendingResponse(
+                new ResponseWrite(sessionId, questionId, answerId, responseText, isCorrect, points));
+
+        pending.incrementAndGet();
+        Sinks.EmitResult result;
+        synchronized (this) {
+            result = inbound.tryEmitNext(response);
+            if (result.isSuccess()) {
+                lastBySession.put(sessionId, response);
+            }
+        }
+        if (result.isFailure()) {
+            pending.decrementAndGet();
+            rejected.incrementAndGet();
+            throw new SubmissionBufferFullException();
+        }
+
+        return response.durable.asMono();
+    }
+
+    /**
+     * Completes once every response the session has queued so far was flushed, whether the flush
+     * succeeded or not.
+     */
+    public Mono<Void> flushed(Long sessionId) {
+        PendingResponse last = lastBySession.get(sessionId);
+        return last != null ? last.flushed.asMono() : Mono.empty();
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    public long getRecordCount() {
+        return records.get();
+    }
+
+    public double getAverageBatchSize() {
+        long flushed = batches.get();
+        return flushed > 0 ? (double) records.get() / flushed : 0.0;
+    }
+
+    public double getAverageFlushMillis() {
+        long flushed = batches.get();
+        return flushed > 0 ? TimeUnit.NANOSECONDS.toMicros(flushNanos.get() / flushed) / 1000.0 : 0.0;
+    }
+
+    public double getMaxFlushMillis() {
+        return TimeUnit.NANOSECONDS.toMicros(maxFlushNanos.get()) / 1000.0;
+    }
+
+    public long getSupersededCount() {
+        return superseded.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    private Mono<Void> flush(List<PendingResponse> batch) {
+        // ON CONFLICT cannot touch the same row twice in one statement, so only the latest
+        // submission per session and question is written.
+        Map<List<Long>, PendingResponse> latest = new LinkedHashMap<>();
+        for (PendingResponse response : batch) {
+            PendingResponse replaced = latest.put(
+                    List.of(response.write.getSessionId(), response.write.getQuestionId()), response);
+            if (replaced != null) {
+                superseded.incrementAndGet();
+                replaced.durable.tryEmitEmpty();
+            }
+        }
+
+        List<PendingResponse> writes = new ArrayList<>(latest.values());
+        long startedAt = System.nanoTime();
+
+        return responseBatchWriter.write(writes.stream().map(response -> response.write).toList())
+                .map(results -> results.stream()
+                        .collect(Collectors.toMap(result -> List.of(result.getSessionId(), result.getQuestionId()),
+                                result -> result)))
+                .doOnNext(results -> {
+                    long elapsed = System.nanoTime() - startedAt;
+                    batches.incrementAndGet();
+                    records.addAndGet(writes.size());
+                    flushNanos.addAndGet(elapsed);
+                    maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+
+                    latest.forEach((key, response) -> {
+                        ResponseUpsertRow result = results.get(key);
+                        if (result != null) {
+                            response.durable.tryEmitValue(result);
+                        } else {
+                            response.durable.tryEmitEmpty();
+                        }
+                    });
+                })
+                .onErrorResume(error -> {
+                    log.error("Failed to flush {} submissions: {}", writes.size(), error.getMessage());
+                    failed.addAndGet(writes.size());
+                    writes.forEach(response -> response.durable.tryEmitError(error));
+                    return Mono.empty();
+                })
+                .doFinally(signal -> {
+                    pending.addAndGet(-batch.size());
+                    batch.forEach(response -> {
+                        lastBySession.remove(response.write.getSessionId(), response);
+                        response.flushed.tryEmitEmpty();
+                    });
+                })
+                .then();
+    }
+
+    private static final class PendingResponse {
+        private final ResponseWrite write;
+        private final Sinks.One<ResponseUpsertRow> durable = Sinks.one();
+        private final Sinks.Empty<Void> flushed = Sinks.empty();
+
+        private PendingResponse(ResponseWrite write) {
+            this.write = write;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.ExamEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventReplayBufferTests {
+
+    @Test
+    void replaysEventsAfterTheGivenSequence() {
+        EventReplayBuffer buffer = new EventReplayBuffer(4);
+        for (int i = 0; i < 3; i++) {
+            buffer.append(event());
+        }
+
+        List<ExamEvent> missed = buffer.since(buffer.getEpoch(), 1);
+
+        assertEquals(List.of(2L, 3L), missed.stream().map(ExamEvent::getSequence).toList());
+        assertTrue(buffer.since(buffer.getEpoch(), 3).isEmpty());
+    }
+
+    @Test
+    void requiresResyncOnceEventsWereOverwritten() {
+        EventReplayBuffer buffer = new EventReplayBuffer(2);
+        for (int i = 0; i < 5; i++) {
+            buffer.append(event());
+        }
+
+        assertNull(buffer.since(buffer.getEpoch(), 1));
+        assertEquals(2, buffer.since(buffer.getEpoch(), 3).size());
+    }
+
+    @Test
+    void requiresResyncForSequencesAheadOfTheBuffer() {
+        EventReplayBuffer buffer = new EventReplayBuffer(4);
+        buffer.append(event());
+
+        assertNull(buffer.since(buffer.getEpoch(), 2));
+    }
+
+    @Test
+    void requiresResyncForIdsFromAnotherBuffer() {
+        EventReplayBuffer previous = new EventReplayBuffer(4);
+        EventReplayBuffer current = new EventReplayBuffer(4);
+        previous.append(event());
+        current.append(event());
+        current.append(event());
+
+        assertNotEquals(previous.getEpoch(), current.getEpoch());
+        assertNull(current.since(previous.getEpoch(), 1));
+    }
+
+    @Test
+    void eventIdsCarryTheEpoch() {
+        EventReplayBuffer buffer = new EventReplayBuffer(4);
+        ExamEvent event = event();
+        buffer.append(event);
+
+        assertEquals(Long.toString(buffer.getEpoch(), 36) + "-1", ExamEventRouter.eventId(event));
+        assertNull(ExamEventRouter.eventId(event()));
+    }
+
+    private ExamEvent event() {
+        return ExamEvent.builder()
+                .type(ExamEvent.ExamEventType.STATISTICS_UPDATED)
+                .examId(1L)
+                .build();
+    }
+}
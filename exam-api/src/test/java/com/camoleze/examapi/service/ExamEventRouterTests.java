@@ -0,0 +1,114 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.ExamEvent;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ExamEventRouterTests {
+
+    @Test
+    void resumesAfterTheLastEventIdThenGoesLive() {
+        ExamEventRouter router = new ExamEventRouter(16, 10);
+        ExamEvent first = publish(router, 1L);
+        publish(router, 1L);
+        publish(router, 1L);
+
+        StepVerifier.create(router.subscribe(1L, ExamEventRouter.eventId(first)))
+                .assertNext(event -> assertEquals(2L, event.getSequence()))
+                .assertNext(event -> assertEquals(3L, event.getSequence()))
+                .then(() -> publish(router, 1L))
+                .assertNext(event -> assertEquals(4L, event.getSequence()))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void replayHandsOffToLiveWithoutGapsOrDuplicates() throws InterruptedException {
+        int events = 2000;
+        ExamEventRouter router = new ExamEventRouter(events, 10);
+        ExamEvent first = publish(router, 1L);
+
+        Thread publisher = new Thread(() -> {
+            for (int i = 1; i < events; i++) {
+                publish(router, 1L);
+            }
+        });
+        publisher.start();
+
+        List<Long> sequences = router.subscribe(1L, ExamEventRouter.eventId(first))
+                .map(ExamEvent::getSequence)
+                .takeUntil(sequence -> sequence == events)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+        publisher.join();
+
+        assertEquals(LongStream.rangeClosed(2, events).boxed().toList(), sequences);
+    }
+
+    @Test
+    void idFromAnotherEpochRequiresResync() {
+        ExamEventRouter router = new ExamEventRouter(16, 10);
+        ExamEvent first = publish(router, 1L);
+        String otherEpoch = Long.toString(first.getEpoch() + 1, 36) + "-" + first.getSequence();
+
+        StepVerifier.create(router.subscribe(1L, otherEpoch))
+                .assertNext(event -> {
+                    assertEquals(ExamEvent.ExamEventType.RESYNC_REQUIRED, event.getType());
+                    assertEquals(first.getEpoch(), event.getEpoch());
+                    assertEquals(1L, event.getSequence());
+                })
+                .then(() -> publish(router, 1L))
+                .assertNext(event -> assertEquals(2L, event.getSequence()))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void malformedIdRequiresResync() {
+        ExamEventRouter router = new ExamEventRouter(16, 10);
+        publish(router, 1L);
+
+        StepVerifier.create(router.subscribe(1L, "not-an-id"))
+                .assertNext(event -> assertEquals(ExamEvent.ExamEventType.RESYNC_REQUIRED, event.getType()))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void evictedBufferOfAStaleExamRequiresResync() throws InterruptedException {
+        ExamEventRouter router = new ExamEventRouter(16, 2);
+        ExamEvent stale = publish(router, 1L);
+        Thread.sleep(5);
+        publish(router, 2L);
+        Thread.sleep(5);
+        publish(router, 3L);
+
+        assertEquals(2, router.getReplayBufferCount());
+
+        AtomicReference<ExamEvent> resync = new AtomicReference<>();
+        StepVerifier.create(router.subscribe(1L, ExamEventRouter.eventId(stale)))
+                .assertNext(resync::set)
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(ExamEvent.ExamEventType.RESYNC_REQUIRED, resync.get().getType());
+        assertNotEquals(stale.getEpoch(), resync.get().getEpoch());
+    }
+
+    private ExamEvent publish(ExamEventRouter router, Long examId) {
+        ExamEvent event = ExamEvent.builder()
+                .type(ExamEvent.ExamEventType.STATISTICS_UPDATED)
+                .examId(examId)
+                .build();
+        router.publish(event);
+        return event;
+    }
+}
@@ -0,0 +1,120 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.AnswerResponse;
+import com.camoleze.examapi.dto.ExamCreateRequest;
+import com.camoleze.examapi.dto.ExamResponse;
+import com.camoleze.examapi.dto.QuestionResponse;
+import com.camoleze.examapi.model.Exam;
+import com.camoleze.examapi.repository.ExamRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ExamTreeWriterTests {
+
+    @Autowired
+    private ExamTreeWriter examTreeWriter;
+
+    @Autowired
+    private ExamTreeReader examTreeReader;
+
+    @Autowired
+    private ExamRepository examRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private Long userId;
+    private Long examId;
+
+    @BeforeEach
+    void createExam() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        userId = insert("INSERT INTO users (username, email, full_name) VALUES ('tree-" + suffix + "', 'tree-"
+                + suffix + "@example.com', 'Tree') RETURNING id");
+        examId = insert("INSERT INTO exams (title, host_user_id, status) VALUES ('Tree', " + userId
+                + ", 'DRAFT') RETURNING id");
+    }
+
+    @AfterEach
+    void deleteExam() {
+        databaseClient.sql("DELETE FROM exams WHERE id = " + examId).then().block();
+        databaseClient.sql("DELETE FROM users WHERE id = " + userId).then().block();
+    }
+
+    @Test
+    void writtenTreeReadsBackInRequestOrder() {
+        examTreeWriter.write(examId, List.of(
+                question("First", "MULTIPLE_CHOICE", 3, answer("1a", false), answer("1b", true), answer("1c", false)),
+                question("Second", "SHORT_ANSWER", null),
+                question("Third", "TRUE_FALSE", 2, answer("3a", true), answer("3b", null)))).block();
+
+        Exam exam = examRepository.findById(examId).block();
+        ExamResponse tree = examTreeReader.read(exam, true).block();
+        List<QuestionResponse> questions = tree.getQuestions();
+
+        assertEquals(List.of("First", "Second", "Third"),
+                questions.stream().map(QuestionResponse::getQuestionText).toList());
+        assertEquals(List.of(0, 1, 2), questions.stream().map(QuestionResponse::getOrderIndex).toList());
+        assertEquals(List.of(3, 1, 2), questions.stream().map(QuestionResponse::getPoints).toList());
+
+        assertEquals(List.of("1a", "1b", "1c"), answerTexts(questions.get(0)));
+        assertEquals(List.of(false, true, false),
+                questions.get(0).getAnswers().stream().map(AnswerResponse::getIsCorrect).toList());
+        assertTrue(questions.get(1).getAnswers().isEmpty());
+        assertEquals(List.of("3a", "3b"), answerTexts(questions.get(2)));
+        assertFalse(questions.get(2).getAnswers().get(1).getIsCorrect());
+    }
+
+    @Test
+    void participantTreeHidesCorrectAnswers() {
+        examTreeWriter.write(examId, List.of(
+                question("Only", "TRUE_FALSE", 1, answer("yes", true), answer("no", false)))).block();
+
+        Exam exam = examRepository.findById(examId).block();
+        ExamResponse tree = examTreeReader.read(exam, false).block();
+
+        assertEquals(List.of("yes", "no"), answerTexts(tree.getQuestions().get(0)));
+        tree.getQuestions().get(0).getAnswers().forEach(answer -> assertNull(answer.getIsCorrect()));
+    }
+
+    private ExamCreateRequest.QuestionCreateRequest question(String text, String type, Integer points,
+                                                            ExamCreateRequest.AnswerCreateRequest... answers) {
+        ExamCreateRequest.QuestionCreateRequest question = new ExamCreateRequest.QuestionCreateRequest();
+        question.setQuestionText(text);
+        question.setType(type);
+        question.setPoints(points);
+        question.setAnswers(answers.length > 0 ? List.of(answers) : null);
+        return question;
+    }
+
+    private ExamCreateRequest.AnswerCreateRequest answer(String text, Boolean isCorrect) {
+        ExamCreateRequest.AnswerCreateRequest answer = new ExamCreateRequest.AnswerCreateRequest();
+        answer.setAnswerText(text);
+        answer.setIsCorrect(isCorrect);
+        return answer;
+    }
+
+    private List<String> answerTexts(QuestionResponse question) {
+        return question.getAnswers().stream().map(AnswerResponse::getAnswerText).toList();
+    }
+
+    private Long insert(String sql) {
+        return databaseClient.sql(sql)
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .block();
+    }
+}
@@ -0,0 +1,87 @@
+package com.camoleze.examapi.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IdempotencyWindowTests {
+
+    @Test
+    void repeatedKeyReplaysTheFirstResult() {
+        IdempotencyWindow window = new IdempotencyWindow(60000, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals(1, window.execute("key", () -> Mono.fromCallable(calls::incrementAndGet)).block());
+        assertEquals(1, window.execute("key", () -> Mono.fromCallable(calls::incrementAndGet)).block());
+
+        assertEquals(1, calls.get());
+        assertEquals(1, window.getHitCount());
+        assertEquals(1, window.getMissCount());
+    }
+
+    @Test
+    void concurrentDuplicateSharesTheRunningCall() {
+        IdempotencyWindow window = new IdempotencyWindow(60000, 100);
+        Sinks.One<String> outcome = Sinks.one();
+        AtomicInteger calls = new AtomicInteger();
+
+        Mono<String> first = window.execute("key", () -> {
+            calls.incrementAndGet();
+            return outcome.asMono();
+        });
+        Mono<String> duplicate = window.execute("key", () -> {
+            calls.incrementAndGet();
+            return Mono.just("duplicate");
+        });
+
+        StepVerifier.create(first.zipWith(duplicate))
+                .then(() -> outcome.tryEmitValue("first"))
+                .assertNext(results -> {
+                    assertEquals("first", results.getT1());
+                    assertEquals("first", results.getT2());
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void failedCallCanBeRetried() {
+        IdempotencyWindow window = new IdempotencyWindow(60000, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(window.execute("key", () -> {
+                    calls.incrementAndGet();
+                    return Mono.error(new IllegalStateException("boom"));
+                }))
+                .expectErrorMessage("boom")
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals("retried", window.execute("key", () -> {
+            calls.incrementAndGet();
+            return Mono.just("retried");
+        }).block());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void oldestKeysAreEvictedBeyondTheLimit() {
+        IdempotencyWindow window = new IdempotencyWindow(60000, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        window.execute("a", () -> Mono.fromCallable(calls::incrementAndGet)).block();
+        window.execute("b", () -> Mono.fromCallable(calls::incrementAndGet)).block();
+        window.execute("c", () -> Mono.fromCallable(calls::incrementAndGet)).block();
+        window.execute("a", () -> Mono.fromCallable(calls::incrementAndGet)).block();
+
+        assertEquals(4, calls.get());
+        assertEquals(2, window.getSize());
+    }
+}
@@ -0,0 +1,86 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.UserStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardDiffTests {
+
+    @Test
+    void firstSnapshotSendsEveryEntry() {
+        LeaderboardDiff diff = new LeaderboardDiff();
+
+        List<UserStatistics> changes = diff.changes(List.of(user(1L, 10), user(2L, 5)));
+
+        assertEquals(2, changes.size());
+        assertEquals(1, changes.get(0).getRank());
+        assertNull(changes.get(0).getPreviousRank());
+        assertEquals(2, changes.get(1).getRank());
+    }
+
+    @Test
+    void unchangedSnapshotSendsNothing() {
+        LeaderboardDiff diff = new LeaderboardDiff();
+        diff.changes(List.of(user(1L, 10), user(2L, 5)));
+
+        assertTrue(diff.changes(List.of(user(1L, 10), user(2L, 5))).isEmpty());
+    }
+
+    @Test
+    void swapSendsBothUsersWithOldAndNewRank() {
+        LeaderboardDiff diff = new LeaderboardDiff();
+        diff.changes(List.of(user(1L, 10), user(2L, 5), user(3L, 1)));
+
+        List<UserStatistics> changes = diff.changes(List.of(user(2L, 12), user(1L, 10), user(3L, 1)));
+
+        assertEquals(2, changes.size());
+        assertEquals(2L, changes.get(0).getUserId());
+        assertEquals(1, changes.get(0).getRank());
+        assertEquals(2, changes.get(0).getPreviousRank());
+        assertEquals(1L, changes.get(1).getUserId());
+        assertEquals(2, changes.get(1).getRank());
+        assertEquals(1, changes.get(1).getPreviousRank());
+    }
+
+    @Test
+    void scoreChangeWithoutMoveIsSent() {
+        LeaderboardDiff diff = new LeaderboardDiff();
+        diff.changes(List.of(user(1L, 10), user(2L, 5)));
+
+        List<UserStatistics> changes = diff.changes(List.of(user(1L, 10), user(2L, 7)));
+
+        assertEquals(1, changes.size());
+        assertEquals(2, changes.get(0).getRank());
+        assertEquals(2, changes.get(0).getPreviousRank());
+        assertEquals(7, changes.get(0).getTotalScore());
+    }
+
+    @Test
+    void userLeavingTheTopIsSentWithoutRank() {
+        LeaderboardDiff diff = new LeaderboardDiff();
+        diff.changes(List.of(user(1L, 10), user(2L, 5)));
+
+        List<UserStatistics> changes = diff.changes(List.of(user(1L, 10), user(3L, 8)));
+
+        assertEquals(2, changes.size());
+        assertEquals(3L, changes.get(0).getUserId());
+        assertEquals(2, changes.get(0).getRank());
+        assertNull(changes.get(0).getPreviousRank());
+        assertEquals(2L, changes.get(1).getUserId());
+        assertNull(changes.get(1).getRank());
+        assertEquals(2, changes.get(1).getPreviousRank());
+    }
+
+    private UserStatistics user(Long userId, int totalScore) {
+        return UserStatistics.builder()
+                .userId(userId)
+                .username("user" + userId)
+                .totalScore(totalScore)
+                .build();
+    }
+}
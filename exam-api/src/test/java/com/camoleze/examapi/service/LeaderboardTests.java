@@ -0,0 +1,55 @@
+package com.camoleze.examapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LeaderboardTests {
+
+    @Test
+    void ordersByScoreThenPercentageThenAnswered() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.update(1L, 10L, 5, 50.0, 4);
+        leaderboard.update(2L, 20L, 8, 40.0, 4);
+        leaderboard.update(3L, 30L, 5, 80.0, 2);
+        leaderboard.update(4L, 40L, 5, 80.0, 3);
+
+        assertEquals(List.of(2L, 4L, 3L, 1L), leaderboard.top(10));
+        assertEquals(List.of(2L, 4L), leaderboard.top(2));
+    }
+
+    @Test
+    void updatesMoveSessionsAndRanks() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.update(1L, 10L, 5, 50.0, 2);
+        leaderboard.update(2L, 20L, 3, 50.0, 2);
+
+        assertEquals(1, leaderboard.rankOf(10L));
+        assertEquals(2, leaderboard.rankOf(20L));
+
+        leaderboard.update(2L, 20L, 9, 75.0, 3);
+
+        assertEquals(1, leaderboard.rankOf(20L));
+        assertEquals(2, leaderboard.rankOf(10L));
+        assertEquals(2, leaderboard.size());
+    }
+
+    @Test
+    void unansweredAndRemovedSessionsAreNotRanked() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.update(1L, 10L, 0, 0.0, 0);
+        leaderboard.update(2L, 20L, 4, 100.0, 1);
+
+        assertNull(leaderboard.rankOf(10L));
+        assertEquals(1, leaderboard.rankOf(20L));
+
+        leaderboard.remove(2L);
+
+        assertNull(leaderboard.rankOf(20L));
+        assertEquals(0, leaderboard.size());
+        assertEquals(List.of(), leaderboard.top(5));
+    }
+}
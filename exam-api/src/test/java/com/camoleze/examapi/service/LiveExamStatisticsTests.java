@@ -0,0 +1,205 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.QuestionStatistics;
+import com.camoleze.examapi.dto.UserStatistics;
+import com.camoleze.examapi.model.AnswerStatisticsRow;
+import com.camoleze.examapi.model.ExamSession;
+import com.camoleze.examapi.model.ExamStatisticsRow;
+import com.camoleze.examapi.model.QuestionStatisticsRow;
+import com.camoleze.examapi.model.SessionStatisticsRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LiveExamStatisticsTests {
+
+    private static final Long EXAM = 1L;
+    private static final Long QUESTION = 100L;
+    private static final Long CORRECT_ANSWER = 1001L;
+    private static final Long WRONG_ANSWER = 1002L;
+    private static final Long SESSION = 10L;
+    private static final Long USER = 7L;
+    private static final int MAX_SCORE = 10;
+
+    @Test
+    void firstCorrectAnswerCountsOnce() {
+        LiveExamStatistics statistics = statistics();
+
+        statistics.recordResponse(SESSION, QUESTION, false, false, true, 5);
+
+        assertQuestion(statistics, 1, 1);
+        assertSession(statistics, 1, 1, 5);
+    }
+
+    @Test
+    void reansweringCorrectAsWrongRemovesTheCorrectAnswerAndPoints() {
+        LiveExamStatistics statistics = statistics();
+        statistics.recordResponse(SESSION, QUESTION, false, false, true, 5);
+
+        statistics.recordResponse(SESSION, QUESTION, true, true, false, -5);
+
+        assertQuestion(statistics, 1, 0);
+        assertSession(statistics, 1, 0, 0);
+    }
+
+    @Test
+    void reansweringWithTheSameResultChangesNothing() {
+        LiveExamStatistics statistics = statistics();
+        statistics.recordResponse(SESSION, QUESTION, false, false, true, 5);
+
+        statistics.recordResponse(SESSION, QUESTION, true, true, true, 0);
+
+        assertQuestion(statistics, 1, 1);
+        assertSession(statistics, 1, 1, 5);
+    }
+
+    @Test
+    void manualCorrectionAppliesThePointsDifference() {
+        LiveExamStatistics statistics = statistics();
+        statistics.recordResponse(SESSION, QUESTION, false, false, false, 0);
+
+        statistics.recordResponse(SESSION, QUESTION, true, false, true, 3);
+        assertQuestion(statistics, 1, 1);
+        assertSession(statistics, 1, 1, 3);
+
+        statistics.recordResponse(SESSION, QUESTION, true, true, false, -3);
+        assertQuestion(statistics, 1, 0);
+        assertSession(statistics, 1, 0, 0);
+    }
+
+    @Test
+    void changedAnswerMovesThePick() {
+        LiveExamStatistics statistics = statistics();
+
+        statistics.changeAnswer(QUESTION, null, CORRECT_ANSWER);
+        assertPicks(statistics, 1, 0);
+
+        statistics.changeAnswer(QUESTION, CORRECT_ANSWER, WRONG_ANSWER);
+        assertPicks(statistics, 0, 1);
+
+        statistics.changeAnswer(QUESTION, WRONG_ANSWER, WRONG_ANSWER);
+        assertPicks(statistics, 0, 1);
+    }
+
+    @Test
+    void completingTwiceCountsOnce() {
+        LiveExamStatistics statistics = statistics();
+        statistics.recordResponse(SESSION, QUESTION, false, false, true, 5);
+
+        statistics.completeSession(completed(5));
+        statistics.completeSession(completed(5));
+
+        assertEquals(1, statistics.toExamStatistics().getCompletedParticipants());
+        assertEquals(50.0, statistics.toExamStatistics().getAverageScore(), 0.001);
+        assertEquals("COMPLETED", statistics.toUserStatistics().get(0).getStatus());
+    }
+
+    @Test
+    void scoreChangeAfterCompletionMovesTheAverage() {
+        LiveExamStatistics statistics = statistics();
+        statistics.recordResponse(SESSION, QUESTION, false, false, true, 5);
+        statistics.completeSession(completed(5));
+
+        statistics.recordResponse(SESSION, QUESTION, true, true, false, -5);
+
+        assertEquals(0.0, statistics.toExamStatistics().getAverageScore(), 0.001);
+    }
+
+    @Test
+    void matchesComparesTheCountersWithTheDatabaseChecksums() {
+        LiveExamStatistics statistics = statistics();
+        assertTrue(statistics.matches(totals(0, 0, 0, 0, 0, 0)));
+
+        statistics.recordResponse(SESSION, QUESTION, false, false, true, 5);
+        statistics.changeAnswer(QUESTION, null, CORRECT_ANSWER);
+
+        assertFalse(statistics.matches(totals(0, 0, 0, 0, 0, 0)));
+        assertTrue(statistics.matches(totals(5, 1, 1, QUESTION * 2, CORRECT_ANSWER, SESSION)));
+        // Same totals, but the pick landed on the other option.
+        assertFalse(statistics.matches(totals(5, 1, 1, QUESTION * 2, WRONG_ANSWER, SESSION)));
+    }
+
+    private LiveExamStatistics statistics() {
+        return new LiveExamStatistics(totals(0, 0, 0, 0, 0, 0),
+                List.of(QuestionStatisticsRow.builder()
+                        .questionId(QUESTION)
+                        .questionText("Q")
+                        .orderIndex(0)
+                        .totalResponses(0L)
+                        .correctResponses(0L)
+                        .build()),
+                List.of(answer(CORRECT_ANSWER, true), answer(WRONG_ANSWER, false)),
+                List.of(SessionStatisticsRow.builder()
+                        .sessionId(SESSION)
+                        .userId(USER)
+                        .username("user")
+                        .fullName("User")
+                        .status(ExamSession.SessionStatus.STARTED)
+                        .totalScore(0)
+                        .maxScore(MAX_SCORE)
+                        .questionsAnswered(0L)
+                        .correctAnswers(0L)
+                        .build()));
+    }
+
+    private AnswerStatisticsRow answer(Long answerId, boolean isCorrect) {
+        return AnswerStatisticsRow.builder()
+                .answerId(answerId)
+                .questionId(QUESTION)
+                .answerText("A" + answerId)
+                .isCorrect(isCorrect)
+                .pickCount(0L)
+                .build();
+    }
+
+    private ExamStatisticsRow totals(long scoreChecksum, long responseCount, long correctCount,
+                                     long questionChecksum, long answerChecksum, long sessionChecksum) {
+        return ExamStatisticsRow.builder()
+                .examId(EXAM)
+                .examTitle("Exam")
+                .totalParticipants(1L)
+                .completedParticipants(0L)
+                .averageScore(0.0)
+                .scoreChecksum(scoreChecksum)
+                .responseCount(responseCount)
+                .correctCount(correctCount)
+                .questionChecksum(questionChecksum)
+                .answerChecksum(answerChecksum)
+                .sessionChecksum(sessionChecksum)
+                .build();
+    }
+
+    private ExamSession completed(int totalScore) {
+        return ExamSession.builder()
+                .id(SESSION)
+                .examId(EXAM)
+                .userId(USER)
+                .status(ExamSession.SessionStatus.COMPLETED)
+                .totalScore(totalScore)
+                .maxScore(MAX_SCORE)
+                .build();
+    }
+
+    private void assertQuestion(LiveExamStatistics statistics, int total, int correct) {
+        QuestionStatistics question = statistics.toQuestionStatistics().get(0);
+        assertEquals(total, question.getTotalResponses());
+        assertEquals(correct, question.getCorrectResponses());
+    }
+
+    private void assertSession(LiveExamStatistics statistics, int answered, int correct, int totalScore) {
+        UserStatistics user = statistics.toUserStatistics().get(0);
+        assertEquals(answered, user.getQuestionsAnswered());
+        assertEquals(correct, user.getCorrectAnswers());
+        assertEquals(totalScore, user.getTotalScore());
+    }
+
+    private void assertPicks(LiveExamStatistics statistics, int correctPicks, int wrongPicks) {
+        QuestionStatistics question = statistics.toQuestionStatistics().get(0);
+        assertEquals(correctPicks, question.getAnswerDistribution().get(0).getPickCount());
+        assertEquals(wrongPicks, question.getAnswerDistribution().get(1).getPickCount());
+    }
+}
@@ -0,0 +1,96 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.model.ResponseUpsertRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ResponseBatchWriterTests {
+
+    private static final int CONCURRENT_SUBMISSIONS = 16;
+    private static final int POINTS = 5;
+
+    @Autowired
+    private ResponseBatchWriter responseBatchWriter;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private Long userId;
+    private Long examId;
+    private Long questionId;
+    private Long sessionId;
+
+    @BeforeEach
+    void createSession() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        userId = insert("INSERT INTO users (username, email, full_name) VALUES ('writer-" + suffix + "', 'writer-"
+                + suffix + "@example.com', 'Writer') RETURNING id");
+        examId = insert("INSERT INTO exams (title, host_user_id, status) VALUES ('Concurrency', " + userId
+                + ", 'ACTIVE') RETURNING id");
+        questionId = insert("INSERT INTO questions (exam_id, question_text, type, order_index, points) VALUES ("
+                + examId + ", 'Q', 'SHORT_ANSWER', 0, " + POINTS + ") RETURNING id");
+        sessionId = insert("INSERT INTO exam_sessions (exam_id, user_id, max_score) VALUES (" + examId + ", "
+                + userId + ", " + POINTS + ") RETURNING id");
+    }
+
+    @AfterEach
+    void deleteSession() {
+        databaseClient.sql("DELETE FROM exam_sessions WHERE id = " + sessionId).then().block();
+        databaseClient.sql("DELETE FROM exams WHERE id = " + examId).then().block();
+        databaseClient.sql("DELETE FROM users WHERE id = " + userId).then().block();
+    }
+
+    @Test
+    void concurrentFirstAnswersScoreOnce() {
+        List<ResponseUpsertRow> results = Flux.range(0, CONCURRENT_SUBMISSIONS)
+                .flatMap(i -> responseBatchWriter.write(write())
+                        .subscribeOn(Schedulers.parallel()), CONCURRENT_SUBMISSIONS)
+                .collectList()
+                .block();
+
+        assertEquals(1, results.stream().filter(result -> !result.getExisted()).count());
+        assertEquals(POINTS, totalScore());
+    }
+
+    @Test
+    void concurrentBatchesScoreOnce() {
+        List<List<ResponseUpsertRow>> results = Flux.range(0, CONCURRENT_SUBMISSIONS)
+                .flatMap(i -> responseBatchWriter.write(List.of(write()))
+                        .subscribeOn(Schedulers.parallel()), CONCURRENT_SUBMISSIONS)
+                .collectList()
+                .block();
+
+        assertEquals(1, results.stream().flatMap(List::stream).filter(result -> !result.getExisted()).count());
+        assertEquals(POINTS, totalScore());
+    }
+
+    private ResponseWrite write() {
+        return new ResponseWrite(sessionId, questionId, null, "answer", true, POINTS);
+    }
+
+    private int totalScore() {
+        return databaseClient.sql("SELECT total_score FROM exam_sessions WHERE id = " + sessionId)
+                .map(row -> row.get("total_score", Integer.class))
+                .one()
+                .block();
+    }
+
+    private Long insert(String sql) {
+        return databaseClient.sql(sql)
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .block();
+    }
+}
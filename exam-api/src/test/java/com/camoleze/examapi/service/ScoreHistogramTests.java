@@ -0,0 +1,66 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.dto.ScoreBucket;
+import com.camoleze.examapi.dto.ScoreDistribution;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ScoreHistogramTests {
+
+    private static final double DELTA = 0.0001;
+
+    @Test
+    void emptyHistogramHasZeroPercentiles() {
+        ScoreDistribution distribution = new ScoreHistogram().toDistribution(1L);
+
+        assertEquals(0, distribution.getTotalSessions());
+        assertEquals(10, distribution.getBuckets().size());
+        assertEquals(0.0, distribution.getMedian(), DELTA);
+    }
+
+    @Test
+    void countsScoresPerBucketIncludingFullMarks() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.add(0.0);
+        histogram.add(15.0);
+        histogram.add(100.0);
+
+        ScoreDistribution distribution = histogram.toDistribution(1L);
+
+        assertEquals(1, count(distribution, 0));
+        assertEquals(1, count(distribution, 1));
+        assertEquals(1, count(distribution, 9));
+        assertEquals(3, distribution.getTotalSessions());
+    }
+
+    @Test
+    void moveShiftsASessionBetweenBuckets() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        histogram.add(10.0);
+        histogram.move(10.0, 55.0);
+
+        ScoreDistribution distribution = histogram.toDistribution(1L);
+
+        assertEquals(0, count(distribution, 1));
+        assertEquals(1, count(distribution, 5));
+        assertEquals(1, distribution.getTotalSessions());
+    }
+
+    @Test
+    void percentilesInterpolateInsideTheBucket() {
+        ScoreHistogram histogram = new ScoreHistogram();
+        for (int i = 0; i < 4; i++) {
+            histogram.add(45.0);
+        }
+
+        assertEquals(45.0, histogram.percentile(50), DELTA);
+        assertEquals(50.0, histogram.percentile(100), DELTA);
+        assertEquals(41.0, histogram.percentile(10), DELTA);
+    }
+
+    private int count(ScoreDistribution distribution, int bucket) {
+        ScoreBucket scoreBucket = distribution.getBuckets().get(bucket);
+        return scoreBucket.getCount();
+    }
+}
@@ -0,0 +1,82 @@
+package com.camoleze.examapi.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SessionLanesTests {
+
+    @Test
+    void runsTasksOfOneSessionInArrivalOrder() {
+        SessionLanes lanes = new SessionLanes(4, 5000);
+        List<Integer> completed = new CopyOnWriteArrayList<>();
+
+        // Earlier tasks take longer, so any overlap would complete them out of order.
+        Flux.range(0, 5)
+                .flatMap(i -> lanes.run(1L, () -> Mono.delay(Duration.ofMillis(50 - i * 10L))
+                        .doOnNext(tick -> completed.add(i))
+                        .thenReturn(i)))
+                .blockLast(Duration.ofSeconds(5));
+
+        assertEquals(List.of(0, 1, 2, 3, 4), completed);
+    }
+
+    @Test
+    void runsOtherSessionsWhileOneIsBusy() {
+        SessionLanes lanes = new SessionLanes(4, 5000);
+
+        lanes.run(1L, () -> Mono.never()).subscribe(value -> { }, error -> { });
+
+        StepVerifier.create(lanes.run(2L, () -> Mono.just("other")))
+                .expectNext("other")
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void failedTaskDoesNotBlockTheLane() {
+        SessionLanes lanes = new SessionLanes(1, 5000);
+
+        StepVerifier.create(lanes.run(1L, () -> Mono.error(new IllegalStateException("boom"))))
+                .expectErrorMessage("boom")
+                .verify(Duration.ofSeconds(1));
+
+        StepVerifier.create(lanes.run(2L, () -> Mono.just("next")))
+                .expectNext("next")
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void emptyTaskCompletesEmpty() {
+        SessionLanes lanes = new SessionLanes(1, 5000);
+
+        StepVerifier.create(lanes.run(1L, Mono::empty))
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void hungTaskTimesOutAndReleasesTheLane() {
+        SessionLanes lanes = new SessionLanes(1, 100);
+
+        StepVerifier.create(lanes.run(1L, Mono::never))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(2));
+
+        StepVerifier.create(lanes.run(2L, () -> Mono.just("next")))
+                .expectNext("next")
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(1, lanes.getTimeoutCount());
+    }
+}
@@ -0,0 +1,52 @@
+package com.camoleze.examapi.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SharedStreamsTests {
+
+    @Test
+    void subscribersOfOneKeyShareThePipeline() {
+        AtomicInteger created = new AtomicInteger();
+        SharedStreams<Long, Long> streams = new SharedStreams<>(key -> {
+            created.incrementAndGet();
+            return Flux.<Long>never().publish().refCount();
+        });
+
+        Disposable first = streams.get(1L).subscribe();
+        Disposable second = streams.get(1L).subscribe();
+        Disposable other = streams.get(2L).subscribe();
+
+        assertEquals(2, created.get());
+        assertEquals(2, streams.size());
+
+        first.dispose();
+        assertEquals(2, streams.size());
+        second.dispose();
+        other.dispose();
+        assertEquals(0, streams.size());
+    }
+
+    @Test
+    void subscriberAfterTeardownGetsAFreshPipeline() {
+        AtomicInteger created = new AtomicInteger();
+        SharedStreams<Long, Long> streams = new SharedStreams<>(key -> {
+            created.incrementAndGet();
+            return Flux.<Long>never().publish().refCount();
+        });
+        Flux<Long> assembledEarly = streams.get(1L);
+
+        streams.get(1L).subscribe().dispose();
+        Disposable late = assembledEarly.subscribe();
+
+        assertEquals(2, created.get());
+        assertEquals(1, streams.size());
+        late.dispose();
+        assertEquals(0, streams.size());
+    }
+}
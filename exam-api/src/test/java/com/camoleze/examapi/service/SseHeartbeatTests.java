@@ -0,0 +1,51 @@
+package com.camoleze.examapi.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SseHeartbeatTests {
+
+    @Test
+    void connectionThatStopsTakingWritesIsClosed() {
+        SseHeartbeat heartbeat = new SseHeartbeat(20, 3);
+
+        StepVerifier.create(heartbeat.withHeartbeat(Flux.<ServerSentEvent<String>>never()), 0)
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(2));
+
+        assertEquals(1, heartbeat.getStaleClosedCount());
+        assertEquals(0, heartbeat.getConnectionCount());
+    }
+
+    @Test
+    void connectionThatKeepsTakingWritesGetsHeartbeats() {
+        SseHeartbeat heartbeat = new SseHeartbeat(20, 3);
+
+        StepVerifier.create(heartbeat.withHeartbeat(Flux.<ServerSentEvent<String>>never()))
+                .expectNextCount(5)
+                .thenCancel()
+                .verify(Duration.ofSeconds(2));
+
+        assertEquals(0, heartbeat.getStaleClosedCount());
+    }
+
+    @Test
+    void heartbeatsEndWithTheEvents() {
+        SseHeartbeat heartbeat = new SseHeartbeat(20, 3);
+
+        StepVerifier.create(heartbeat.withHeartbeat(Flux.just(ServerSentEvent.builder("event").build())
+                        .delayElements(Duration.ofMillis(100))))
+                .thenConsumeWhile(event -> event.data() == null)
+                .expectNextMatches(event -> "event".equals(event.data()))
+                .thenConsumeWhile(event -> event.data() == null)
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+    }
+}
@@ -0,0 +1,166 @@
+package com.camoleze.examapi.service;
+
+import com.camoleze.examapi.controller.GlobalExceptionHandler;
+import com.camoleze.examapi.model.ResponseUpsertRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class SubmissionWriteBehindTests {
+
+    private SubmissionWriteBehind writeBehind;
+
+    @AfterEach
+    void stop() {
+        if (writeBehind != null) {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    void latestSubmissionInABatchWins() {
+        StubWriter writer = new StubWriter(false);
+        writeBehind = start(writer, 100, 100, 200);
+
+        Mono<ResponseUpsertRow> first = writeBehind.submit(1L, 10L, 100L, null, false, 0);
+        Mono<ResponseUpsertRow> second = writeBehind.submit(1L, 10L, 101L, null, true, 5);
+
+        StepVerifier.create(first)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+        StepVerifier.create(second)
+                .assertNext(row -> assertEquals(5, row.getPointsEarned()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(1, writer.batches.size());
+        assertEquals(1, writer.batches.get(0).size());
+        assertEquals(101L, writer.batches.get(0).get(0).getAnswerId());
+        assertEquals(1, writeBehind.getSupersededCount());
+        assertEquals(0, writeBehind.getPendingCount());
+    }
+
+    @Test
+    void flushedWaitsForEverythingTheSessionQueued() {
+        StubWriter writer = new StubWriter(false);
+        writeBehind = start(writer, 100, 100, 50);
+
+        writeBehind.submit(1L, 10L, 100L, null, true, 5);
+        writeBehind.submit(1L, 11L, 110L, null, true, 5);
+
+        StepVerifier.create(writeBehind.flushed(1L))
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(2, writer.batches.stream().mapToInt(List::size).sum());
+        StepVerifier.create(writeBehind.flushed(2L))
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void failedFlushFailsTheSubmissions() {
+        writeBehind = start(new ResponseBatchWriter(null, null, null) {
+            @Override
+            public Mono<List<ResponseUpsertRow>> write(List<ResponseWrite> writes) {
+                return Mono.error(new IllegalStateException("boom"));
+            }
+        }, 100, 100, 20);
+
+        StepVerifier.create(writeBehind.submit(1L, 10L, 100L, null, true, 5))
+                .expectErrorMessage("boom")
+                .verify(Duration.ofSeconds(1));
+        StepVerifier.create(writeBehind.flushed(1L))
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(1, writeBehind.getFailedCount());
+    }
+
+    @Test
+    void fullBufferRejectsWithServiceUnavailable() {
+        writeBehind = start(new StubWriter(true), 4, 1, 20);
+
+        SubmissionBufferFullException rejected = null;
+        for (long i = 0; i < 1000 && rejected == null; i++) {
+            try {
+                writeBehind.submit(i, 10L, 100L, null, true, 5);
+            } catch (SubmissionBufferFullException e) {
+                rejected = e;
+            }
+        }
+
+        assertNotNull(rejected);
+        assertEquals(1, writeBehind.getRejectedCount());
+
+        ResponseEntity<Map<String, String>> response = new GlobalExceptionHandler()
+                .handleSubmissionBufferFull(rejected)
+                .block();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        writeBehind = null;
+    }
+
+    @Test
+    void shutdownDrainsPendingSubmissions() {
+        StubWriter writer = new StubWriter(false);
+        SubmissionWriteBehind stopping = start(writer, 100, 100, 60000);
+
+        Mono<ResponseUpsertRow> first = stopping.submit(1L, 10L, 100L, null, true, 5);
+        Mono<ResponseUpsertRow> second = stopping.submit(2L, 10L, 100L, null, true, 5);
+        stopping.stop();
+
+        assertEquals(2, writer.batches.stream().mapToInt(List::size).sum());
+        assertEquals(0, stopping.getPendingCount());
+        assertNotNull(first.block(Duration.ofSeconds(1)));
+        assertNotNull(second.block(Duration.ofSeconds(1)));
+    }
+
+    private SubmissionWriteBehind start(ResponseBatchWriter writer, int capacity, int batchSize, long flushIntervalMs) {
+        SubmissionWriteBehind started = new SubmissionWriteBehind(writer, capacity, batchSize, flushIntervalMs, 1000);
+        started.start();
+        return started;
+    }
+
+    private static final class StubWriter extends ResponseBatchWriter {
+        private final List<List<ResponseWrite>> batches = new CopyOnWriteArrayList<>();
+        private final boolean hang;
+
+        private StubWriter(boolean hang) {
+            super(null, null, null);
+            this.hang = hang;
+        }
+
+        @Override
+        public Mono<List<ResponseUpsertRow>> write(List<ResponseWrite> writes) {
+            batches.add(writes);
+            if (hang) {
+                return Mono.never();
+            }
+            return Mono.just(writes.stream()
+                    .map(write -> ResponseUpsertRow.builder()
+                            .responseId(write.getSessionId() * 1000 + write.getQuestionId())
+                            .sessionId(write.getSessionId())
+                            .questionId(write.getQuestionId())
+                            .isCorrect(write.isCorrect())
+                            .pointsEarned(write.getPoints())
+                            .existed(false)
+                            .wasCorrect(false)
+                            .previousPoints(0)
+                            .totalScore(write.getPoints())
+                            .build())
+                    .toList());
+        }
+    }
+}